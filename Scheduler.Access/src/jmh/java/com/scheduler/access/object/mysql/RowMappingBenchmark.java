@@ -0,0 +1,106 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.common.model.Appointment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping 'appointments' rows by column label, as the DAOs did before {@link AppointmentRowMapper}, with
+ * mapping them by the column ordinals the mapper resolves once per result set. Rows are read from an in-memory
+ * {@link CachedRowSet} so that only the mapping is measured, not the driver's network reads.
+ * <p>
+ * Run with <code>gradle :Scheduler.Access:jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+    private static final String[] COLUMNS = {"Appointment_ID", "Title", "Description", "Location", "Type", "Start",
+            "End", "Create_Date", "Created_By", "Last_Update", "Last_Updated_By", "Customer_ID", "User_ID",
+            "Contact_ID"};
+    private static final int[] TYPES = {Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER};
+
+    @Param({"1000"})
+    private int rows;
+
+    private CachedRowSet rs;
+
+    @Setup(Level.Trial)
+    public void fill() throws SQLException {
+        RowSetMetaData meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            meta.setColumnName(i + 1, COLUMNS[i]);
+            meta.setColumnLabel(i + 1, COLUMNS[i]);
+            meta.setColumnType(i + 1, TYPES[i]);
+        }
+        rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(meta);
+        Timestamp at = Timestamp.valueOf("2022-03-01 09:00:00");
+        for (int i = 1; i <= rows; i++) {
+            rs.moveToInsertRow();
+            rs.updateInt(1, i);
+            rs.updateString(2, "Title " + i);
+            rs.updateString(3, "Description " + i);
+            rs.updateString(4, "Location " + i);
+            rs.updateString(5, "Type " + (i % 5));
+            rs.updateTimestamp(6, at);
+            rs.updateTimestamp(7, at);
+            rs.updateTimestamp(8, at);
+            rs.updateString(9, AuditColumns.USER);
+            rs.updateTimestamp(10, at);
+            rs.updateString(11, AuditColumns.USER);
+            rs.updateInt(12, i % 50 + 1);
+            rs.updateInt(13, i % 2 + 1);
+            rs.updateInt(14, i % 3 + 1);
+            rs.insertRow();
+            rs.moveToCurrentRow();
+        }
+    }
+
+    @Benchmark
+    public List<Appointment> byLabel() throws SQLException {
+        rs.beforeFirst();
+        List<Appointment> appointments = new ArrayList<>();
+        while (rs.next()) {
+            appointments.add(new Appointment(rs.getInt("Appointment_ID"), rs.getString("Title"),
+                    rs.getString("Description"), rs.getString("Location"), rs.getString("Type"),
+                    rs.getTimestamp("Start"), rs.getTimestamp("End"), rs.getTimestamp("Create_Date"),
+                    rs.getString("Created_By"), rs.getTimestamp("Last_Update"), rs.getString("Last_Updated_By"),
+                    rs.getInt("Customer_ID"), rs.getInt("User_ID"), rs.getInt("Contact_ID")));
+        }
+        return appointments;
+    }
+
+    @Benchmark
+    public List<Appointment> byOrdinal() throws SQLException {
+        rs.beforeFirst();
+        return AppointmentRowMapper.INSTANCE.mapAll(rs);
+    }
+}
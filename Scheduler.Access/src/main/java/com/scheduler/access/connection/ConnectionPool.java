@@ -0,0 +1,344 @@
+package com.scheduler.access.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of JDBC connections. Connections are borrowed with {@link #borrow()} and handed back by calling
+ * {@link Connection#close()} on the borrowed instance, which returns the underlying physical connection to the pool
+ * instead of closing it.
+ * <p>
+ * Idle connections are validated before being handed out, evicted once they have been idle for longer than the idle
+ * timeout, and retired once they reach their maximum lifetime. Connections that are held for longer than the leak
+ * threshold are reported, along with the stack trace of the code that borrowed them.
+ * <p>
+ * Each physical connection keeps its own {@link StatementCache}, so statements prepared through a borrowed connection
+ * are reused by later borrowers of the same physical connection.
+ */
+public class ConnectionPool {
+    /** Idle connections used more recently than this are handed out without a validation round trip. */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private final LongAdder retiredCacheHits = new LongAdder();
+    private final LongAdder retiredCacheMisses = new LongAdder();
+    private volatile boolean isShutdown = false;
+
+    /**
+     * Constructor: Sets up the pool and schedules the background task that evicts idle and expired connections and
+     * reports leaked ones. No connections are opened until the first one is borrowed.
+     *
+     * @param url JDBC connection string
+     * @param username database username
+     * @param password database password
+     * @param maxSize maximum number of connections open at once, borrowed and idle combined
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection before failing
+     * @param idleTimeoutMillis how long a connection may sit unused in the pool before it is closed
+     * @param maxLifetimeMillis how long a connection may live before it is closed, once it is next returned
+     * @param leakThresholdMillis how long a connection may be held before it is reported as a possible leak
+     * @param statementCacheSize maximum number of prepared statements cached per connection
+     */
+    public ConnectionPool(String url, String username, String password, int maxSize, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, long maxLifetimeMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        permits = new Semaphore(maxSize, true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, leakThresholdMillis) / 2);
+        housekeeper.scheduleAtFixedRate(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no valid idle connection is available and the pool
+     * is not at capacity. The caller must close the returned connection to give it back to the pool.
+     *
+     * @return SQL Connection (JDBC) borrowed from the pool
+     * @throws SQLException if no connection becomes available in time or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (isShutdown)
+            throw new SQLException("Connection pool has been shut down");
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS))
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis +
+                        " ms waiting for a pooled connection");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null)
+                pooled = new PooledConnection(DriverManager.getConnection(url, username, password));
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = new Exception("Connection borrowed here");
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every idle connection and stops the background housekeeping. Borrowed connections are closed as they
+     * are returned.
+     */
+    public void shutdown() {
+        isShutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null)
+            pooled.closePhysical();
+    }
+
+    /**
+     * Gets the maximum number of connections the pool opens at once.
+     * @return maximum pool size
+     */
+    public int getMaxSize() { return maxSize; }
+
+    /**
+     * Gets the number of connections currently borrowed from the pool.
+     * @return borrowed connection count
+     */
+    public int getBorrowedCount() { return borrowed.size(); }
+
+    /**
+     * Gets the number of open connections currently waiting in the pool.
+     * @return idle connection count
+     */
+    public int getIdleCount() { return idle.size(); }
+
+    /**
+     * Gets the number of statement prepares, across all connections, that were served from a statement cache.
+     * @return statement cache hit count
+     */
+    public long getStatementCacheHitCount() {
+        long hits = retiredCacheHits.sum();
+        for (PooledConnection pooled : idle)
+            hits += pooled.statementCache.getHitCount();
+        for (PooledConnection pooled : borrowed)
+            hits += pooled.statementCache.getHitCount();
+        return hits;
+    }
+
+    /**
+     * Gets the number of statement prepares, across all connections, that had to prepare a new statement.
+     * @return statement cache miss count
+     */
+    public long getStatementCacheMissCount() {
+        long misses = retiredCacheMisses.sum();
+        for (PooledConnection pooled : idle)
+            misses += pooled.statementCache.getMissCount();
+        for (PooledConnection pooled : borrowed)
+            misses += pooled.statementCache.getMissCount();
+        return misses;
+    }
+
+    /**
+     * Takes the most recently used idle connection that is still usable, closing any stale ones found on the way.
+     *
+     * @return usable idle connection or <em>null</em> if there is none
+     */
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled))
+                return pooled;
+            pooled.closePhysical();
+        }
+        return null;
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt >= maxLifetimeMillis)
+            return false;
+        if (now - pooled.returnedAt < VALIDATION_BYPASS_MILLIS)
+            return true;
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes a connection back from a borrower. Any transaction left open is rolled back. The connection is closed
+     * instead of being reused if it is broken, has reached its maximum lifetime, or the pool has been shut down.
+     *
+     * @param pooled connection being returned
+     */
+    private void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled))
+            return;
+        try {
+            boolean isReusable = !isShutdown &&
+                    System.currentTimeMillis() - pooled.createdAt < maxLifetimeMillis &&
+                    !pooled.physical.isClosed();
+            if (isReusable) {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.returnedAt = System.currentTimeMillis();
+                pooled.borrowSite = null;
+                idle.offerFirst(pooled);
+            } else {
+                pooled.closePhysical();
+            }
+        } catch (SQLException e) {
+            pooled.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Evicts connections that have been idle too long or have outlived their maximum lifetime, and reports borrowed
+     * connections held for longer than the leak threshold.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : idle) {
+            if ((now - pooled.returnedAt >= idleTimeoutMillis || now - pooled.createdAt >= maxLifetimeMillis) &&
+                    idle.remove(pooled))
+                pooled.closePhysical();
+        }
+        for (PooledConnection pooled : borrowed) {
+            Exception borrowSite = pooled.borrowSite;
+            if (!pooled.leakReported && borrowSite != null && now - pooled.borrowedAt >= leakThresholdMillis) {
+                pooled.leakReported = true;
+                Exception leak = new Exception("Possible connection leak: connection held for " +
+                        (now - pooled.borrowedAt) + " ms");
+                leak.setStackTrace(borrowSite.getStackTrace());
+                leak.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Physical connection managed by the pool, along with the bookkeeping needed for eviction and leak detection.
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private final long createdAt;
+        private volatile long returnedAt;
+        private volatile long borrowedAt;
+        private volatile Exception borrowSite;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = new StatementCache(physical, statementCacheSize);
+            this.createdAt = System.currentTimeMillis();
+            this.returnedAt = createdAt;
+        }
+
+        /**
+         * Creates the handle given to a borrower. Each borrow gets its own handle so that a handle which has already
+         * been closed cannot touch the connection after it has been handed to someone else.
+         *
+         * @return Connection proxy that returns the physical connection to the pool when closed
+         */
+        private Connection lease() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean isClosed = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (!isClosed) {
+                                isClosed = true;
+                                release(PooledConnection.this);
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return isClosed || physical.isClosed();
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "Pooled" + physical;
+                        }
+                    }
+                    if (isClosed)
+                        throw new SQLException("Connection has already been returned to the pool");
+                    if ("prepareStatement".equals(method.getName()) && args.length == 1)
+                        return statementCache.prepare((String) args[0]);
+                    if ("prepareStatement".equals(method.getName()) && args.length == 2 && args[1] instanceof Integer)
+                        return statementCache.prepare((String) args[0], (Integer) args[1]);
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, handler);
+        }
+
+        private void closePhysical() {
+            statementCache.clear();
+            retiredCacheHits.add(statementCache.getHitCount());
+            retiredCacheMisses.add(statementCache.getMissCount());
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
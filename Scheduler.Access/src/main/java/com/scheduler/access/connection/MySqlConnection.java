@@ -1,15 +1,19 @@
 package com.scheduler.access.connection;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Class for connecting to a MySql database and storing the connection. Uses the JDBC API.
+ * Class for connecting to a MySql database through a pool of connections. Uses the JDBC API. Connections handed out
+ * are instrumented, so the time taken by every statement is kept in {@link QueryMetrics} and slow ones are logged.
+ *
+ * @see ConnectionPool
+ * @see QueryMetrics
  */
 public class MySqlConnection {
     private static volatile MySqlConnection instance = null;
-    private Connection connection;
+    private final ConnectionPool pool;
+    private final QueryMetrics queryMetrics;
 
     /**
      * Creates an instance of the class if it has not yet been and then retrieves the one instance of 'MySqlConnection',
@@ -29,25 +33,58 @@ public class MySqlConnection {
     }
 
     /**
-     * Constructor; Makes and stores the connection to the database. Connection string credentials are stored in and
-     * retrieved from environment variables.
+     * Constructor; Sets up the pool of connections to the database and the metrics of the statements run on them.
+     * Connection string credentials, pool settings and the slow-query threshold are stored in and retrieved from
+     * environment variables. Settings fall back to defaults when not set. The collected metrics are printed when the
+     * application exits.
      */
     private MySqlConnection() {
-        connection = null;
         String port = System.getenv("MYSQL_SCHEDULER_DB_PORT");
         String username = System.getenv("MYSQL_SCHEDULER_DB_USERNAME");
         String password = System.getenv("MYSQL_SCHEDULER_DB_PASSWORD");
-        String url = "jdbc:mysql://localhost:" + port + "/client_schedule";
-        try {
-            connection = DriverManager.getConnection(url, username, password);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        String url = "jdbc:mysql://localhost:" + port +
+                "/client_schedule?rewriteBatchedStatements=true&useCursorFetch=true";
+        pool = new ConnectionPool(url, username, password,
+                (int) getEnvOrDefault("MYSQL_SCHEDULER_POOL_SIZE", 10),
+                getEnvOrDefault("MYSQL_SCHEDULER_POOL_BORROW_TIMEOUT_MS", 30_000),
+                getEnvOrDefault("MYSQL_SCHEDULER_POOL_IDLE_TIMEOUT_MS", 600_000),
+                getEnvOrDefault("MYSQL_SCHEDULER_POOL_MAX_LIFETIME_MS", 1_800_000),
+                getEnvOrDefault("MYSQL_SCHEDULER_POOL_LEAK_THRESHOLD_MS", 60_000),
+                (int) getEnvOrDefault("MYSQL_SCHEDULER_STATEMENT_CACHE_SIZE", 50));
+        queryMetrics = new QueryMetrics(getEnvOrDefault("MYSQL_SCHEDULER_SLOW_QUERY_MS", 200));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            pool.shutdown();
+            System.out.println(queryMetrics.report());
+        }));
     }
 
     /**
-     * Gets the connection to the MySql database.
-     * @return SQL Connection (JDBC)
+     * Borrows a connection to the MySql database from the pool. The connection must be closed when no longer needed,
+     * which returns it to the pool.
+     * @return SQL Connection (JDBC), instrumented by {@link #getQueryMetrics()}
+     * @throws SQLException if a connection could not be borrowed
+     */
+    public Connection getConnection() throws SQLException { return queryMetrics.instrument(pool.borrow()); }
+
+    /**
+     * Gets the pool that connections are borrowed from.
+     * @return connection pool
+     */
+    public ConnectionPool getPool() { return pool; }
+
+    /**
+     * Gets the timings of the statements run on connections borrowed through this class.
+     * @return query metrics
      */
-    public Connection getConnection() { return connection; }
+    public QueryMetrics getQueryMetrics() { return queryMetrics; }
+
+    private static long getEnvOrDefault(String name, long defaultValue) {
+        String value = System.getenv(name);
+        try {
+            return (value == null) ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            e.printStackTrace();
+            return defaultValue;
+        }
+    }
 }
@@ -0,0 +1,219 @@
+package com.scheduler.access.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the statements run through instrumented connections, keeping {@link QueryStats} per SQL text, and logs each run
+ * that takes at least the slow-query threshold.
+ * <p>
+ * Connections are instrumented with {@link #instrument(Connection)}. Every statement they hand out from
+ * <code>prepareStatement</code> is wrapped so that its executions are timed; callable statements are left unwrapped, so
+ * they keep their own type. A run of a query lasts from the call that executes it until its result set has
+ * been read to the end or closed, and counts only the time spent inside the driver, i.e. executing the statement and
+ * fetching rows; time the caller spends mapping rows is left out. A run of an update or batch counts the rows it
+ * affected.
+ */
+public class QueryMetrics {
+    private final long slowQueryThresholdMillis;
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor: Sets up empty metrics.
+     *
+     * @param slowQueryThresholdMillis runs taking at least this long are logged; a negative value logs none
+     */
+    public QueryMetrics(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    /**
+     * Wraps a connection so that the statements prepared through it are timed. Closing the returned connection closes
+     * the given one.
+     *
+     * @param connection connection to instrument
+     * @return instrumented Connection proxy
+     */
+    public Connection instrument(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement stmt
+                    && args[0] instanceof String sql)
+                return instrument(stmt, sql);
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, handler);
+    }
+
+    /**
+     * Gets the totals of every statement run so far.
+     * @return stats per statement, slowest in total first
+     */
+    public List<QueryStats> getStats() {
+        List<QueryStats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparingLong(QueryStats::getTotalMillis).reversed());
+        return all;
+    }
+
+    /**
+     * Gets the slow-query threshold.
+     * @return threshold in milliseconds; negative if slow queries are not logged
+     */
+    public long getSlowQueryThresholdMillis() { return slowQueryThresholdMillis; }
+
+    /**
+     * Describes the totals of every statement run so far, one statement per line, slowest in total first.
+     * @return report of runs, total, 50th/95th/99th percentile and maximum time, rows and errors per statement
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Query timings (runs, total/p50/p95/p99/max ms, rows, errors):");
+        for (QueryStats query : getStats()) {
+            report.append(System.lineSeparator())
+                    .append(query.getCount()).append(", ")
+                    .append(query.getTotalMillis()).append('/')
+                    .append(query.getPercentileMillis(50)).append('/')
+                    .append(query.getPercentileMillis(95)).append('/')
+                    .append(query.getPercentileMillis(99)).append('/')
+                    .append(query.getMaxMillis()).append(", ")
+                    .append(query.getRows()).append(", ")
+                    .append(query.getErrors()).append(": ")
+                    .append(query.getSql());
+        }
+        return report.toString();
+    }
+
+    private void record(String sql, long nanos, long rows, boolean failed) {
+        stats.computeIfAbsent(sql, QueryStats::new).record(nanos, rows, failed);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (slowQueryThresholdMillis >= 0 && millis >= slowQueryThresholdMillis)
+            System.err.println("Slow query (" + millis + " ms, " + rows + " rows" + (failed ? ", failed" : "") +
+                    "): " + sql);
+    }
+
+    private PreparedStatement instrument(PreparedStatement statement, String sql) {
+        InvocationHandler handler = new InvocationHandler() {
+            private Run run;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if ("close".equals(name) && run != null)
+                    run.finish();
+                if (!name.startsWith("execute"))
+                    return QueryMetrics.invoke(statement, method, args);
+
+                if (run != null)
+                    run.finish();
+                Run current = new Run(sql);
+                long startedAt = System.nanoTime();
+                try {
+                    Object result = QueryMetrics.invoke(statement, method, args);
+                    current.nanos += System.nanoTime() - startedAt;
+                    if (result instanceof ResultSet rs) {
+                        run = current;
+                        return current.instrument(rs);
+                    }
+                    current.rows = affectedRows(result);
+                    current.finish();
+                    return result;
+                } catch (Throwable e) {
+                    current.nanos += System.nanoTime() - startedAt;
+                    current.failed = true;
+                    current.finish();
+                    throw e;
+                }
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, handler);
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count)
+            return Math.max(count, 0);
+        if (result instanceof Long count)
+            return Math.max(count, 0);
+        long rows = 0;
+        if (result instanceof int[] counts)
+            for (int count : counts)
+                rows += Math.max(count, 0);
+        return rows;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One run of a statement, recorded once when it finishes.
+     */
+    private class Run {
+        private final String sql;
+        private long nanos;
+        private long rows;
+        private boolean failed;
+        private boolean isFinished = false;
+
+        private Run(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * Wraps the run's result set so that fetching rows is timed and counted, and reading it to the end or closing
+         * it finishes the run.
+         *
+         * @param rs result set of the run
+         * @return instrumented ResultSet proxy
+         */
+        private ResultSet instrument(ResultSet rs) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (!"next".equals(name)) {
+                    if ("close".equals(name))
+                        finish();
+                    return invoke(rs, method, args);
+                }
+                long startedAt = System.nanoTime();
+                try {
+                    boolean hasRow = (Boolean) invoke(rs, method, args);
+                    nanos += System.nanoTime() - startedAt;
+                    if (hasRow)
+                        rows++;
+                    else
+                        finish();
+                    return hasRow;
+                } catch (Throwable e) {
+                    nanos += System.nanoTime() - startedAt;
+                    failed = true;
+                    finish();
+                    throw e;
+                }
+            };
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, handler);
+        }
+
+        private void finish() {
+            if (isFinished)
+                return;
+            isFinished = true;
+            record(sql, nanos, rows, failed);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.scheduler.access.connection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one SQL statement: how many times it ran, a histogram of how long it took, the rows it returned
+ * or affected, and how many of its runs failed. Safe to update and read from any thread.
+ * <p>
+ * The histogram counts runs into buckets bounded by {@link #BUCKET_BOUNDS_MILLIS}, plus one bucket for everything
+ * slower than the last bound. Percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public class QueryStats {
+    /** Upper bound, in milliseconds and inclusive, of each histogram bucket but the last. */
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private final String sql;
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Constructor: Sets up empty totals.
+     *
+     * @param sql SQL text of the statement
+     */
+    QueryStats(String sql) {
+        this.sql = sql;
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Adds one run of the statement.
+     *
+     * @param nanos time the run spent in the database driver
+     * @param rowCount rows returned, or affected by an update
+     * @param failed whether the run threw
+     */
+    void record(long nanos, long rowCount, boolean failed) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[bucket])
+            bucket++;
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        rows.add(rowCount);
+        if (failed)
+            errors.increment();
+    }
+
+    /**
+     * Gets the SQL text of the statement.
+     * @return SQL text
+     */
+    public String getSql() { return sql; }
+
+    /**
+     * Gets the number of times the statement ran.
+     * @return run count
+     */
+    public long getCount() { return count.sum(); }
+
+    /**
+     * Gets the time spent running the statement, across all runs.
+     * @return total milliseconds
+     */
+    public long getTotalMillis() { return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()); }
+
+    /**
+     * Gets the longest single run of the statement.
+     * @return maximum milliseconds
+     */
+    public long getMaxMillis() { return TimeUnit.NANOSECONDS.toMillis(maxNanos.get()); }
+
+    /**
+     * Gets the rows returned by, or affected by, the statement across all runs.
+     * @return row count
+     */
+    public long getRows() { return rows.sum(); }
+
+    /**
+     * Gets the number of runs of the statement that threw.
+     * @return error count
+     */
+    public long getErrors() { return errors.sum(); }
+
+    /**
+     * Gets the number of runs in each histogram bucket.
+     * @return run counts, one per bucket bounded by {@link #BUCKET_BOUNDS_MILLIS} followed by the overflow bucket
+     */
+    public long[] getHistogram() {
+        long[] histogram = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++)
+            histogram[i] = buckets[i].sum();
+        return histogram;
+    }
+
+    /**
+     * Estimates a percentile of the statement's run time from the histogram.
+     *
+     * @param percentile percentile to estimate, between 0 and 100
+     * @return upper bound, in milliseconds, of the bucket the percentile falls in, capped at the maximum run time, or 0
+     * if the statement never ran
+     */
+    public long getPercentileMillis(double percentile) {
+        long[] histogram = getHistogram();
+        long total = 0;
+        for (long runs : histogram)
+            total += runs;
+        if (total == 0)
+            return 0;
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank)
+                return Math.min(BUCKET_BOUNDS_MILLIS[i], getMaxMillis());
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,215 @@
+package com.scheduler.access.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of prepared statements for one physical connection, keyed by SQL text and whether the statement returns
+ * generated keys. The least recently used statement is closed once the cache grows past its size limit.
+ * <p>
+ * Statements are handed out as handles; closing a handle closes any result set it produced and returns the statement
+ * to the cache instead of closing it, with its parameters, batch and fetch size reset. Only one handle per SQL text is
+ * cached at a time, so preparing the same SQL again while its cached statement is still in use gets an uncached
+ * statement that is really closed when its handle is.
+ * <p>
+ * A cache belongs to a single pooled connection and is only used by whoever has that connection borrowed, so it is not
+ * synchronized. Hit and miss counts may be read from any thread.
+ */
+public class StatementCache {
+    private final Connection connection;
+    private final int maxSize;
+    private final Map<Key, CachedStatement> statements;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Constructor: Sets up an empty cache in least-recently-used order.
+     *
+     * @param connection physical connection the statements are prepared on
+     * @param maxSize maximum number of statements kept open
+     */
+    public StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() <= StatementCache.this.maxSize)
+                    return false;
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets a prepared statement for the given SQL, reusing the cached one when it is free.
+     *
+     * @param sql SQL text of the statement
+     * @return statement handle; closing it returns the statement to the cache
+     * @throws SQLException if the statement could not be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Gets a prepared statement for the given SQL, reusing the cached one when it is free.
+     *
+     * @param sql SQL text of the statement
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}
+     * @return statement handle; closing it returns the statement to the cache
+     * @throws SQLException if the statement could not be prepared
+     */
+    public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = (maxSize > 0) ? statements.get(key) : null;
+        if (cached != null && cached.isEvicted) {
+            statements.remove(key);
+            cached = null;
+        }
+        if (cached != null && !cached.isInUse) {
+            hitCount.incrementAndGet();
+            return cached.checkOut();
+        }
+        missCount.incrementAndGet();
+        CachedStatement created = new CachedStatement(connection.prepareStatement(sql, autoGeneratedKeys));
+        if (cached == null && maxSize > 0)
+            statements.put(key, created);
+        else
+            created.isEvicted = true;
+        return created.checkOut();
+    }
+
+    /**
+     * Closes every cached statement. Statements still checked out are closed when their handles are.
+     */
+    public void clear() {
+        List<CachedStatement> toEvict = new ArrayList<>(statements.values());
+        statements.clear();
+        toEvict.forEach(CachedStatement::evict);
+    }
+
+    /**
+     * Gets the number of prepares served by a cached statement.
+     * @return hit count
+     */
+    public long getHitCount() { return hitCount.get(); }
+
+    /**
+     * Gets the number of prepares that had to prepare a new statement.
+     * @return miss count
+     */
+    public long getMissCount() { return missCount.get(); }
+
+    /**
+     * Gets the number of statements currently cached.
+     * @return cached statement count
+     */
+    public int size() { return statements.size(); }
+
+    private record Key(String sql, int autoGeneratedKeys) {}
+
+    /**
+     * A prepared statement owned by the cache, along with whether it is checked out or has been evicted.
+     */
+    private static class CachedStatement {
+        private final PreparedStatement statement;
+        private final List<ResultSet> openResultSets = new ArrayList<>();
+        private boolean isInUse = false;
+        private boolean isEvicted = false;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement checkOut() {
+            isInUse = true;
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean isClosed = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (!isClosed) {
+                                isClosed = true;
+                                checkIn();
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return isClosed || statement.isClosed();
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "Cached" + statement;
+                        }
+                    }
+                    if (isClosed)
+                        throw new SQLException("Statement has already been closed");
+                    try {
+                        Object result = method.invoke(statement, args);
+                        if (result instanceof ResultSet rs)
+                            openResultSets.add(rs);
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class}, handler);
+        }
+
+        private void checkIn() throws SQLException {
+            isInUse = false;
+            try {
+                for (Iterator<ResultSet> it = openResultSets.iterator(); it.hasNext(); ) {
+                    it.next().close();
+                    it.remove();
+                }
+                if (isEvicted) {
+                    statement.close();
+                } else {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                    statement.setFetchSize(0);
+                }
+            } catch (SQLException e) {
+                isEvicted = true;
+                statement.close();
+                throw e;
+            }
+        }
+
+        private void evict() {
+            isEvicted = true;
+            if (isInUse)
+                return;
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
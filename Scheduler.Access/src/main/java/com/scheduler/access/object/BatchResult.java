@@ -0,0 +1,32 @@
+package com.scheduler.access.object;
+
+import java.util.List;
+
+/**
+ * Per-row outcome of a batch write performed through a {@link DAO}. Every row passed to the batch ends up in exactly
+ * one of the two lists.
+ *
+ * @param <T> Generic representation of the rows written; Model objects, or ids for deletions
+ */
+public class BatchResult<T> {
+    private final List<T> succeeded;
+    private final List<T> failed;
+
+    public BatchResult(List<T> succeeded, List<T> failed) {
+        this.succeeded = succeeded;
+        this.failed = failed;
+    }
+
+    /**
+     * Gets the rows that were written. For creations and updates these are the rows as stored, including generated
+     * ids and audit values.
+     * @return list of successfully written rows
+     */
+    public List<T> getSucceeded() { return succeeded; }
+
+    /**
+     * Gets the rows, as they were passed in, that were not written.
+     * @return list of rows that failed to write
+     */
+    public List<T> getFailed() { return failed; }
+}
@@ -0,0 +1,40 @@
+package com.scheduler.access.object;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data access object for tables with a 'Last_Update' column, so that a cached copy of the table can be brought up to
+ * date by reading only the rows changed since it was last read. 'Last_Update' is filled in by the server, so values
+ * read back from the table can be passed in again as they are. {@link #readVersion(Timestamp)} tells whether there is
+ * anything to read at all. Deleted rows leave nothing behind to read, so deletions are found by comparing the cached
+ * ids with {@link #readAllIds()}, which need only be read when the row count shows a row is missing.
+ *
+ * @param <T> Generic representation of Model objects that are generated and manipulated in conjunction with DB data
+ */
+public interface ChangeTrackingDAO<T> extends DAO<T> {
+    /**
+     * Read the row count and latest 'Last_Update' of the table, and how many rows were updated at or after the given
+     * time.
+     *
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return version of the table or <em>null</em> if it could not be read
+     */
+    TableVersion readVersion(Timestamp since);
+
+    /**
+     * Read all rows created or updated at or after the given time.
+     *
+     * @param since earliest 'Last_Update' value to include, as read from the table
+     * @return List of Model objects holding row data or empty list if no rows were found
+     */
+    List<T> readChangedSince(Timestamp since);
+
+    /**
+     * Read the unique id of every row in the table.
+     *
+     * @return Set of ids or empty set if no rows were found
+     */
+    Set<Integer> readAllIds();
+}
@@ -1,6 +1,8 @@
 package com.scheduler.access.object;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data access object Interface. Abstract representation of objects that act as an API to perform CRUD operations on
@@ -13,7 +15,22 @@ import java.util.List;
 public interface DAO<T> {
     T read(int id);
     List<T> readAll();
+    Stream<T> stream();
     T create(T t);
     T update(T t);
     boolean delete(int id);
+    BatchResult<T> createAll(List<T> ts);
+    BatchResult<T> updateAll(List<T> ts);
+    BatchResult<Integer> deleteAll(List<Integer> ids);
+
+    /**
+     * Passes every row to the given action, one at a time, without holding the full table in memory.
+     *
+     * @param action action performed on each row
+     */
+    default void forEach(Consumer<? super T> action) {
+        try (Stream<T> rows = stream()) {
+            rows.forEach(action);
+        }
+    }
 }
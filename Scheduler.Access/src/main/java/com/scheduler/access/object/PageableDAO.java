@@ -0,0 +1,23 @@
+package com.scheduler.access.object;
+
+import java.util.List;
+
+/**
+ * Data access object for tables large enough to be read a page at a time. Pages are addressed by keyset: each page
+ * starts after the last key of the previous one, so reading a deep page costs the same as reading the first, instead
+ * of skipping over every earlier row as an OFFSET would.
+ *
+ * @param <T> Generic representation of Model objects that are generated and manipulated in conjunction with DB data
+ */
+public interface PageableDAO<T> extends DAO<T> {
+    /**
+     * Read up to <em>limit</em> rows whose unique id is greater than <em>afterId</em>, in ascending id order. The
+     * first page is read with an <em>afterId</em> of 0; each following page with the id of the last row of the page
+     * before it.
+     *
+     * @param afterId unique id of the last row of the previous page, or 0 for the first page
+     * @param limit maximum number of rows to read
+     * @return List of Model objects holding row data or empty list if there are no more rows
+     */
+    List<T> readPage(int afterId, int limit);
+}
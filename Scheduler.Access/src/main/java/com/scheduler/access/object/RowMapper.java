@@ -0,0 +1,98 @@
+package com.scheduler.access.object;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps result set rows to Model objects by column position. The column names a mapper reads are resolved to their
+ * positions once per result set, so each row is read by ordinal instead of looking every column up by name.
+ *
+ * @param <T> Generic representation of Model objects that are generated from DB data
+ */
+public abstract class RowMapper<T> {
+    private final String[] columns;
+
+    /**
+     * Constructor: Sets the names of the columns the mapper reads. Their positions are passed to
+     * {@link #map(ResultSet, int[])} in the same order.
+     *
+     * @param columns column names, as labelled in the result set
+     */
+    protected RowMapper(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Maps the current row.
+     *
+     * @param rs result set positioned on the row to map
+     * @param at positions of the columns given to the constructor, in the same order
+     * @return Model object holding row data
+     * @throws SQLException if a column could not be read
+     */
+    protected abstract T map(ResultSet rs, int[] at) throws SQLException;
+
+    /**
+     * Resolves the mapper's columns against the given result set.
+     *
+     * @param rs result set the returned mapping will read from
+     * @return mapping for the rows of the given result set
+     * @throws SQLException if a column is missing from the result set
+     */
+    public Bound<T> bind(ResultSet rs) throws SQLException {
+        int[] at = positions(rs);
+        return row -> map(row, at);
+    }
+
+    /**
+     * Finds the positions of the mapper's columns in the given result set.
+     *
+     * @param rs result set to look the columns up in
+     * @return positions of the columns given to the constructor, in the same order
+     * @throws SQLException if a column is missing from the result set
+     */
+    protected int[] positions(ResultSet rs) throws SQLException {
+        int[] at = new int[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            at[i] = rs.findColumn(columns[i]);
+        return at;
+    }
+
+    /**
+     * Maps the remaining rows of the result set.
+     *
+     * @param rs result set to read to the end
+     * @return List of Model objects holding row data or empty ArrayList object if there were no rows
+     * @throws SQLException if a row could not be read
+     */
+    public List<T> mapAll(ResultSet rs) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        Bound<T> bound = bind(rs);
+        while (rs.next())
+            rows.add(bound.map(rs));
+        return rows;
+    }
+
+    /**
+     * Maps the next row of the result set.
+     *
+     * @param rs result set to read from
+     * @return Model object holding row data or <em>null</em> if there were no more rows
+     * @throws SQLException if the row could not be read
+     */
+    public T mapOne(ResultSet rs) throws SQLException {
+        return rs.next() ? bind(rs).map(rs) : null;
+    }
+
+    /**
+     * Mapping of a mapper's columns to their positions in one result set.
+     *
+     * @param <T> Generic representation of Model objects that are generated from DB data
+     */
+    @FunctionalInterface
+    public interface Bound<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,14 @@
+package com.scheduler.access.object;
+
+import java.sql.Timestamp;
+
+/**
+ * Cheap fingerprint of a table with a 'Last_Update' column, read by a {@link ChangeTrackingDAO} in one aggregate query,
+ * so that a cached copy of the table can tell whether it needs to read anything. Every value is taken from the server.
+ *
+ * @param rowCount number of rows in the table
+ * @param latestUpdate latest 'Last_Update' in the table, or <em>null</em> if the table is empty
+ * @param updatedSince number of rows whose 'Last_Update' is at or after the time the version was read for
+ */
+public record TableVersion(long rowCount, Timestamp latestUpdate, long updatedSince) {
+}
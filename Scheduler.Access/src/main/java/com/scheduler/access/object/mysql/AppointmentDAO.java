@@ -1,18 +1,45 @@
 package com.scheduler.access.object.mysql;
 
 import com.scheduler.access.connection.MySqlConnection;
-import com.scheduler.access.object.DAO;
+import com.scheduler.access.object.BatchResult;
+import com.scheduler.access.object.ChangeTrackingDAO;
+import com.scheduler.access.object.PageableDAO;
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.access.object.TableVersion;
 import com.scheduler.common.model.Appointment;
+import com.scheduler.common.model.MonthTypeTotal;
 
 import java.sql.*;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation class of the Data Access Object (DAO) interface to map the 'appointments' table rows in the SQL
  * Database to front-end 'Appointment' Model objects, to perform CRUD operations.
  */
-public class AppointmentDAO implements DAO<Appointment> {
+public class AppointmentDAO implements PageableDAO<Appointment>, ChangeTrackingDAO<Appointment> {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO appointments (Title, Description, Location, Type, Start, End, " +
+                "Create_Date, Created_By, Last_Update, Last_Updated_By, Customer_ID, User_ID, " +
+                "Contact_ID) " +
+                "VALUES (?, ?, ?, ?, ?, ?, current_timestamp(), ?, current_timestamp(), ?, ?, ?, ?);";
+    private static final String UPDATE_QUERY =
+            "UPDATE appointments SET Title=?, Description=?, Location=?, Type=?, Start=?, " +
+                "End=?, Last_Update=current_timestamp(), Last_Updated_By=?, Customer_ID=?, " +
+                "User_ID=?, Contact_ID=? WHERE Appointment_ID=?;";
+    private static final String DELETE_QUERY = "DELETE FROM appointments WHERE Appointment_ID=?;";
+
+    private static final AuditColumns AUDIT = new AuditColumns("appointments", "Appointment_ID");
+
+    private static final RowMapper<Appointment> MAPPER = AppointmentRowMapper.INSTANCE;
 
     private final MySqlConnection mySqlConnection;
 
@@ -32,30 +59,12 @@ public class AppointmentDAO implements DAO<Appointment> {
     @Override
     public Appointment read(int id) {
         Appointment appointment = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM appointments WHERE Appointment_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Appointment_ID");
-                String title = rs.getString("Title");
-                String description = rs.getString("Description");
-                String location = rs.getString("Location");
-                String type = rs.getString("Type");
-                Timestamp start = rs.getTimestamp("Start");
-                Timestamp end = rs.getTimestamp("End");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int customerId = rs.getInt("Customer_ID");
-                int userId = rs.getInt("User_ID");
-                int contactId = rs.getInt("Contact_ID");
-                appointment = new Appointment(innerId, title, description, location, type, start, end, createDate,
-                        createdBy, lastUpdate, lastUpdatedBy, customerId, userId, contactId);
-            }
+            appointment = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -70,30 +79,12 @@ public class AppointmentDAO implements DAO<Appointment> {
      */
     public Appointment read(String title) {
         Appointment appointment = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM appointments WHERE Title=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setString(1, title);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Appointment_ID");
-                String innerTitle = rs.getString("Title");
-                String description = rs.getString("Description");
-                String location = rs.getString("Location");
-                String type = rs.getString("Type");
-                Timestamp start = rs.getTimestamp("Start");
-                Timestamp end = rs.getTimestamp("End");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int customerId = rs.getInt("Customer_ID");
-                int userId = rs.getInt("User_ID");
-                int contactId = rs.getInt("Contact_ID");
-                appointment = new Appointment(id, innerTitle, description, location, type, start, end, createDate,
-                        createdBy, lastUpdate, lastUpdatedBy, customerId, userId, contactId);
-            }
+            appointment = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -108,35 +99,220 @@ public class AppointmentDAO implements DAO<Appointment> {
     @Override
     public List<Appointment> readAll() {
         List<Appointment> appointments = new ArrayList<>();
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM appointments;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Appointment_ID");
-                String innerTitle = rs.getString("Title");
-                String description = rs.getString("Description");
-                String location = rs.getString("Location");
-                String type = rs.getString("Type");
-                Timestamp start = rs.getTimestamp("Start");
-                Timestamp end = rs.getTimestamp("End");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int customerId = rs.getInt("Customer_ID");
-                int userId = rs.getInt("User_ID");
-                int contactId = rs.getInt("Contact_ID");
-                appointments.add(new Appointment(id, innerTitle, description, location, type, start, end, createDate,
-                        createdBy, lastUpdate, lastUpdatedBy, customerId, userId, contactId));
+            appointments = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return appointments;
+    }
+
+    /**
+     * Count the rows of the 'appointments' table per year, month and 'Type', with months taken in the given time zone.
+     * 'Start' is stored as UTC and the zone's offset can differ from month to month, e.g. across daylight saving time,
+     * so the months are not worked out by shifting 'Start'. Instead the range of 'Start' is read first, the UTC instant
+     * at which each month in that range begins in the zone is worked out, and each row is counted in the month whose
+     * bounds its 'Start' falls between, found by a binary search in <code>INTERVAL()</code>.
+     *
+     * @param zone time zone the months are counted in
+     * @return List of MonthTypeTotal instances, in ascending year, month and type order, or empty ArrayList object if
+     * no rows were found.
+     */
+    public List<MonthTypeTotal> readMonthTypeTotals(ZoneId zone) {
+        List<MonthTypeTotal> totals = new ArrayList<>();
+        final String RANGE_QUERY = "SELECT MIN(Start), MAX(Start) FROM appointments;";
+        try (Connection conn = mySqlConnection.getConnection()) {
+            YearMonth first;
+            YearMonth last;
+            try (PreparedStatement stmt = conn.prepareStatement(RANGE_QUERY)) {
+                ResultSet rs = stmt.executeQuery();
+                if (!rs.next() || rs.getTimestamp(1) == null)
+                    return totals;
+                first = YearMonth.from(toInstant(rs.getTimestamp(1)).atZone(zone));
+                last = YearMonth.from(toInstant(rs.getTimestamp(2)).atZone(zone));
+            }
+
+            List<YearMonth> months = new ArrayList<>();
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1))
+                months.add(month);
+            StringBuilder query = new StringBuilder(
+                    "SELECT INTERVAL(TIMESTAMPDIFF(SECOND, '1970-01-01 00:00:00', Start)");
+            query.append(", ?".repeat(months.size() + 1));
+            query.append(") AS Bucket, Type, COUNT(*) AS Total FROM appointments " +
+                    "GROUP BY Bucket, Type ORDER BY Bucket, Type;");
+
+            try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+                for (int i = 0; i <= months.size(); i++) {
+                    YearMonth month = first.plusMonths(i);
+                    stmt.setLong(i + 1, month.atDay(1).atStartOfDay(zone).toEpochSecond());
+                }
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    // Bucket n counts rows between the starts of month n - 1 and month n; rows added since the range
+                    // was read may fall outside every month and are left out.
+                    int bucket = rs.getInt(1);
+                    if (bucket < 1 || bucket > months.size())
+                        continue;
+                    YearMonth month = months.get(bucket - 1);
+                    totals.add(new MonthTypeTotal(month.getYear(), month.getMonthValue(), rs.getString(2),
+                            rs.getInt(3)));
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return totals;
+    }
+
+    /**
+     * Read one page of rows from the 'appointments' table, in ascending 'Appointment_ID' order, starting after the
+     * given id.
+     *
+     * @param afterId 'Appointment_ID' of the last row of the previous page, or 0 for the first page
+     * @param limit maximum number of rows to read
+     * @return List of Appointment instances holding row data or empty ArrayList object if there are no more rows.
+     */
+    @Override
+    public List<Appointment> readPage(int afterId, int limit) {
+        List<Appointment> appointments = new ArrayList<>();
+        final String QUERY = "SELECT * FROM appointments WHERE Appointment_ID>? ORDER BY Appointment_ID LIMIT ?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+            appointments = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return appointments;
+    }
+
+    /**
+     * Read one page of rows from the 'appointments' table, in ascending 'Start' order, starting after the given
+     * appointment. Rows sharing a 'Start' value are ordered by 'Appointment_ID', so the 'Start' and id of the last row
+     * of a page identify exactly where the next page begins.
+     *
+     * @param afterStart 'Start' of the last row of the previous page, or <em>null</em> for the first page
+     * @param afterId 'Appointment_ID' of the last row of the previous page; ignored for the first page
+     * @param limit maximum number of rows to read
+     * @return List of Appointment instances holding row data or empty ArrayList object if there are no more rows.
+     */
+    public List<Appointment> readPageByStart(Timestamp afterStart, int afterId, int limit) {
+        List<Appointment> appointments = new ArrayList<>();
+        final String FIRST_QUERY = "SELECT * FROM appointments ORDER BY Start, Appointment_ID LIMIT ?;";
+        final String NEXT_QUERY = "SELECT * FROM appointments WHERE Start>=? AND (Start>? OR Appointment_ID>?) " +
+                "ORDER BY Start, Appointment_ID LIMIT ?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement((afterStart == null) ? FIRST_QUERY : NEXT_QUERY)) {
+            if (afterStart == null) {
+                stmt.setInt(1, limit);
+            } else {
+                stmt.setTimestamp(1, afterStart);
+                stmt.setTimestamp(2, afterStart);
+                stmt.setInt(3, afterId);
+                stmt.setInt(4, limit);
+            }
+            ResultSet rs = stmt.executeQuery();
+            appointments = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return appointments;
+    }
+
+    /**
+     * Read all rows from the 'appointments' table along with the name of each appointment's contact, in one query.
+     *
+     * @return List of Appointment instances, with contact name set, or empty ArrayList object if no rows were found.
+     */
+    public List<Appointment> readAllWithContactNames() {
+        List<Appointment> appointments = new ArrayList<>();
+        final String QUERY = "SELECT " + AppointmentDetailRowMapper.FROM + ";";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            appointments = AppointmentDetailRowMapper.INSTANCE.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return appointments;
+    }
+
+    /**
+     * Read the row count and latest 'Last_Update' of the 'appointments' table, and how many rows were updated at
+     * or after the given time.
+     *
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return TableVersion instance or <em>null</em> if it could not be read
+     */
+    @Override
+    public TableVersion readVersion(Timestamp since) {
+        try (Connection conn = mySqlConnection.getConnection()) {
+            return AUDIT.readVersion(conn, since);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Read all rows from the 'appointments' table created or updated at or after the given time, along with the name
+     * of each appointment's contact.
+     *
+     * @param since earliest 'Last_Update' value to include, as read from the table
+     * @return List of Appointment instances holding row data or empty ArrayList object if no rows were found.
+     */
+    @Override
+    public List<Appointment> readChangedSince(Timestamp since) {
+        List<Appointment> appointments = new ArrayList<>();
+        final String QUERY = "SELECT " + AppointmentDetailRowMapper.FROM + " WHERE a.Last_Update>=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setTimestamp(1, since);
+            ResultSet rs = stmt.executeQuery();
+            appointments = AppointmentDetailRowMapper.INSTANCE.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return appointments;
     }
 
+    /**
+     * Read the 'Appointment_ID' of every row in the 'appointments' table.
+     *
+     * @return Set of 'Appointment_ID' values or empty HashSet object if no rows were found.
+     */
+    @Override
+    public Set<Integer> readAllIds() {
+        Set<Integer> ids = new HashSet<>();
+        final String QUERY = "SELECT Appointment_ID FROM appointments;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                ids.add(rs.getInt(1));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    /**
+     * Lazily read all rows from the 'appointments' table into Appointment instances. Rows are fetched from the server
+     * in chunks as the stream is consumed. The stream should be closed if it is not read to the end.
+     *
+     * @return Stream of Appointment model objects holding row data or an empty stream if the query failed.
+     */
+    @Override
+    public Stream<Appointment> stream() {
+        final String QUERY = "SELECT * FROM appointments;";
+        return RowStreams.stream(mySqlConnection, QUERY, MAPPER);
+    }
+
     /**
      * Create a new row in the 'appointments' table.
      *
@@ -145,30 +321,20 @@ public class AppointmentDAO implements DAO<Appointment> {
      */
     @Override
     public Appointment create(Appointment appointment) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY =
-                "INSERT INTO appointments (Title, Description, Location, Type, Start, End, " +
-                    "Create_Date, Created_By, Last_Update, Last_Updated_By, Customer_ID, User_ID, " +
-                    "Contact_ID) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, current_timestamp(), \"script\", current_timestamp(), \"script\"," +
-                        "?, ?, ?);";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, appointment.getTitle());
-            stmt.setString(2, appointment.getDescription());
-            stmt.setString(3, appointment.getLocation());
-            stmt.setString(4, appointment.getType());
-            stmt.setTimestamp(5, appointment.getStart());
-            stmt.setTimestamp(6, appointment.getEnd());
-            stmt.setInt(7, appointment.getCustomerId());
-            stmt.setInt(8, appointment.getUserId());
-            stmt.setInt(9, appointment.getContactId());
+        Appointment created = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, appointment);
             stmt.executeUpdate();
-            appointment = read(appointment.getTitle());
+            ResultSet keys = stmt.getGeneratedKeys();
+            if (keys.next()) {
+                int id = keys.getInt(1);
+                created = created(appointment, id, AUDIT.read(conn, id));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return appointment;
+        return created;
     }
 
     /**
@@ -179,29 +345,16 @@ public class AppointmentDAO implements DAO<Appointment> {
      */
     @Override
     public Appointment update(Appointment appointment) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY =
-                "UPDATE appointments SET Title=?, Description=?, Location=?, Type=?, Start=?, " +
-                    "End=?, Last_Update=current_timestamp(), Last_Updated_By=\"script\", Customer_ID=?, " +
-                    "User_ID=?, Contact_ID=? WHERE Appointment_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, appointment.getTitle());
-            stmt.setString(2, appointment.getDescription());
-            stmt.setString(3, appointment.getLocation());
-            stmt.setString(4, appointment.getType());
-            stmt.setTimestamp(5, appointment.getStart());
-            stmt.setTimestamp(6, appointment.getEnd());
-            stmt.setInt(7, appointment.getCustomerId());
-            stmt.setInt(8, appointment.getUserId());
-            stmt.setInt(9, appointment.getContactId());
-            stmt.setInt(10, appointment.getId());
-            int successfulRows = stmt.executeUpdate();
-            appointment = (successfulRows == 0) ? null : read(appointment.getTitle());
+        Appointment updated = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_QUERY)) {
+            bindUpdate(stmt, appointment);
+            if (stmt.executeUpdate() > 0)
+                updated = updated(appointment, AUDIT.read(conn, appointment.getId()));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return appointment;
+        return updated;
     }
 
     /**
@@ -213,10 +366,8 @@ public class AppointmentDAO implements DAO<Appointment> {
     @Override
     public boolean delete(int id) {
         boolean rowIsDeleted = false;
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "DELETE FROM appointments WHERE Appointment_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_QUERY)) {
             stmt.setInt(1, id);
             rowIsDeleted = stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -224,4 +375,103 @@ public class AppointmentDAO implements DAO<Appointment> {
         }
         return rowIsDeleted;
     }
+
+    /**
+     * Delete every row in the 'appointments' table belonging to the given customer, with a single statement run
+     * within the given unit of work. The rows stay in the table until the unit of work is committed.
+     *
+     * @param work unit of work to run the statement in
+     * @param customerId 'Customer_ID' column value of the rows to delete
+     * @return number of rows deleted
+     * @throws SQLException if the statement failed; the unit of work should then not be committed
+     */
+    public int deleteByCustomerId(UnitOfWork work, int customerId) throws SQLException {
+        final String QUERY = "DELETE FROM appointments WHERE Customer_ID=?;";
+        try (PreparedStatement stmt = work.prepareStatement(QUERY)) {
+            stmt.setInt(1, customerId);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Create new rows in the 'appointments' table, in batches within one transaction.
+     *
+     * @param appointments Appointment instances with required column data
+     * @return newly created Appointment instances, and the given instances that could not be created
+     */
+    @Override
+    public BatchResult<Appointment> createAll(List<Appointment> appointments) {
+        return BatchWriter.execute(mySqlConnection, INSERT_QUERY, true, appointments, AppointmentDAO::bindInsert, AUDIT,
+                Appointment::getId, AppointmentDAO::created);
+    }
+
+    /**
+     * Update rows in the 'appointments' table, in batches within one transaction.
+     *
+     * @param appointments Appointment instances with required column data
+     * @return updated Appointment instances, and the given instances that could not be updated
+     */
+    @Override
+    public BatchResult<Appointment> updateAll(List<Appointment> appointments) {
+        return BatchWriter.execute(mySqlConnection, UPDATE_QUERY, false, appointments, AppointmentDAO::bindUpdate,
+                AUDIT, Appointment::getId, (row, id, stamps) -> updated(row, stamps));
+    }
+
+    /**
+     * Delete rows in the 'appointments' table, in batches within one transaction.
+     *
+     * @param ids 'Appointment_ID' column values (unique identifiers)
+     * @return ids of the deleted rows, and ids of the rows that could not be deleted
+     */
+    @Override
+    public BatchResult<Integer> deleteAll(List<Integer> ids) {
+        return BatchWriter.execute(mySqlConnection, DELETE_QUERY, false, ids,
+                (stmt, id) -> stmt.setInt(1, id), (id, key) -> id);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Appointment appointment) throws SQLException {
+        stmt.setString(1, appointment.getTitle());
+        stmt.setString(2, appointment.getDescription());
+        stmt.setString(3, appointment.getLocation());
+        stmt.setString(4, appointment.getType());
+        stmt.setTimestamp(5, appointment.getStart());
+        stmt.setTimestamp(6, appointment.getEnd());
+        stmt.setString(7, AuditColumns.USER);
+        stmt.setString(8, AuditColumns.USER);
+        stmt.setInt(9, appointment.getCustomerId());
+        stmt.setInt(10, appointment.getUserId());
+        stmt.setInt(11, appointment.getContactId());
+    }
+
+    private static Appointment created(Appointment appointment, int id, AuditColumns.Stamps stamps) {
+        return new Appointment(id, appointment.getTitle(), appointment.getDescription(), appointment.getLocation(),
+                appointment.getType(), appointment.getStart(), appointment.getEnd(), stamps.createDate(),
+                AuditColumns.USER, stamps.lastUpdate(), AuditColumns.USER, appointment.getCustomerId(),
+                appointment.getUserId(), appointment.getContactId());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Appointment appointment) throws SQLException {
+        stmt.setString(1, appointment.getTitle());
+        stmt.setString(2, appointment.getDescription());
+        stmt.setString(3, appointment.getLocation());
+        stmt.setString(4, appointment.getType());
+        stmt.setTimestamp(5, appointment.getStart());
+        stmt.setTimestamp(6, appointment.getEnd());
+        stmt.setString(7, AuditColumns.USER);
+        stmt.setInt(8, appointment.getCustomerId());
+        stmt.setInt(9, appointment.getUserId());
+        stmt.setInt(10, appointment.getContactId());
+        stmt.setInt(11, appointment.getId());
+    }
+
+    private static Appointment updated(Appointment appointment, AuditColumns.Stamps stamps) {
+        return new Appointment(appointment.getId(), appointment.getTitle(), appointment.getDescription(),
+                appointment.getLocation(), appointment.getType(), appointment.getStart(), appointment.getEnd(),
+                appointment.getCreateDate(), appointment.getCreatedBy(), stamps.lastUpdate(), AuditColumns.USER,
+                appointment.getCustomerId(), appointment.getUserId(), appointment.getContactId());
+    }
+
+    private static Instant toInstant(Timestamp utc) {
+        return utc.toLocalDateTime().toInstant(ZoneOffset.UTC);
+    }
 }
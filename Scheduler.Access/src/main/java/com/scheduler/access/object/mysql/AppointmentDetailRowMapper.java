@@ -0,0 +1,34 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Appointment;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'appointments' table, joined with the name of their contact, to Appointment Model objects with
+ * their contact name set.
+ */
+final class AppointmentDetailRowMapper extends RowMapper<Appointment> {
+    static final AppointmentDetailRowMapper INSTANCE = new AppointmentDetailRowMapper();
+
+    /** Select list and joined tables for queries read through this mapper; the appointments table is aliased 'a'. */
+    static final String FROM =
+            "a.*, c.Contact_Name FROM appointments a LEFT JOIN contacts c ON c.Contact_ID = a.Contact_ID";
+
+    private AppointmentDetailRowMapper() {
+        super("Appointment_ID", "Title", "Description", "Location", "Type", "Start", "End", "Create_Date", "Created_By",
+                "Last_Update", "Last_Updated_By", "Customer_ID", "User_ID", "Contact_ID", "Contact_Name");
+    }
+
+    @Override
+    protected Appointment map(ResultSet rs, int[] at) throws SQLException {
+        Appointment appointment = new Appointment(rs.getInt(at[0]), rs.getString(at[1]), rs.getString(at[2]),
+                rs.getString(at[3]), rs.getString(at[4]), rs.getTimestamp(at[5]), rs.getTimestamp(at[6]),
+                rs.getTimestamp(at[7]), rs.getString(at[8]), rs.getTimestamp(at[9]), rs.getString(at[10]),
+                rs.getInt(at[11]), rs.getInt(at[12]), rs.getInt(at[13]));
+        appointment.setContactName(rs.getString(at[14]));
+        return appointment;
+    }
+}
@@ -0,0 +1,27 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Appointment;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'appointments' table to Appointment Model objects.
+ */
+final class AppointmentRowMapper extends RowMapper<Appointment> {
+    static final AppointmentRowMapper INSTANCE = new AppointmentRowMapper();
+
+    private AppointmentRowMapper() {
+        super("Appointment_ID", "Title", "Description", "Location", "Type", "Start", "End", "Create_Date", "Created_By",
+                "Last_Update", "Last_Updated_By", "Customer_ID", "User_ID", "Contact_ID");
+    }
+
+    @Override
+    protected Appointment map(ResultSet rs, int[] at) throws SQLException {
+        return new Appointment(rs.getInt(at[0]), rs.getString(at[1]), rs.getString(at[2]), rs.getString(at[3]),
+                rs.getString(at[4]), rs.getTimestamp(at[5]), rs.getTimestamp(at[6]), rs.getTimestamp(at[7]),
+                rs.getString(at[8]), rs.getTimestamp(at[9]), rs.getString(at[10]), rs.getInt(at[11]), rs.getInt(at[12]),
+                rs.getInt(at[13]));
+    }
+}
@@ -0,0 +1,104 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.TableVersion;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The 'Create_Date', 'Created_By', 'Last_Update' and 'Last_Updated_By' columns of one table. The dates are filled in
+ * by the server with <code>current_timestamp()</code>, so every workstation's rows are stamped from the one clock, and
+ * are read back by id after a write, on the connection that wrote them, so that the written row can be returned
+ * without reading every column again. The same clock makes 'Last_Update' a watermark for reading changed rows, see
+ * {@link #readVersion(Connection, Timestamp)}.
+ */
+final class AuditColumns {
+    static final String USER = "script";
+
+    /**
+     * 'Create_Date' and 'Last_Update' values of one row, as filled in by the server.
+     *
+     * @param createDate 'Create_Date' column value, or <em>null</em> if the row was not found
+     * @param lastUpdate 'Last_Update' column value, or <em>null</em> if the row was not found
+     */
+    record Stamps(Timestamp createDate, Timestamp lastUpdate) {
+        static final Stamps NONE = new Stamps(null, null);
+    }
+
+    private final String table;
+    private final String idColumn;
+
+    /**
+     * Constructor: Sets up reading back the audit columns of the given table.
+     *
+     * @param table name of the table
+     * @param idColumn name of the table's unique id column
+     */
+    AuditColumns(String table, String idColumn) {
+        this.table = table;
+        this.idColumn = idColumn;
+    }
+
+    /**
+     * Reads the dates of one row.
+     *
+     * @param conn connection the row was written on
+     * @param id unique id of the row
+     * @return dates of the row, or {@link Stamps#NONE} if the row was not found
+     * @throws SQLException if the query failed
+     */
+    Stamps read(Connection conn, int id) throws SQLException {
+        Stamps stamps = readAll(conn, List.of(id)).get(id);
+        return (stamps == null) ? Stamps.NONE : stamps;
+    }
+
+    /**
+     * Reads the dates of the given rows with one query.
+     *
+     * @param conn connection the rows were written on
+     * @param ids unique ids of the rows
+     * @return dates of each row found, by id
+     * @throws SQLException if the query failed
+     */
+    Map<Integer, Stamps> readAll(Connection conn, List<Integer> ids) throws SQLException {
+        if (ids.isEmpty())
+            return Collections.emptyMap();
+        String query = "SELECT " + idColumn + ", Create_Date, Last_Update FROM " + table + " WHERE " + idColumn +
+                " IN (" + "?, ".repeat(ids.size() - 1) + "?);";
+        Map<Integer, Stamps> stamps = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < ids.size(); i++)
+                stmt.setInt(i + 1, ids.get(i));
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                stamps.put(rs.getInt(1), new Stamps(rs.getTimestamp(2), rs.getTimestamp(3)));
+        }
+        return stamps;
+    }
+
+    /**
+     * Reads the row count and latest 'Last_Update' of the table, and how many rows were updated at or after the given
+     * time, in one aggregate query.
+     *
+     * @param conn connection to read on
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return version of the table
+     * @throws SQLException if the query failed
+     */
+    TableVersion readVersion(Connection conn, Timestamp since) throws SQLException {
+        String query = "SELECT COUNT(*), MAX(Last_Update), COALESCE(SUM(Last_Update>=?), 0) FROM " + table + ";";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setTimestamp(1, since);
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+            return new TableVersion(rs.getLong(1), rs.getTimestamp(2), rs.getLong(3));
+        }
+    }
+}
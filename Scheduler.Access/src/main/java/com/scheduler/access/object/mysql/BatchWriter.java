@@ -0,0 +1,162 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.connection.MySqlConnection;
+import com.scheduler.access.object.BatchResult;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs batched writes for the MySQL DAOs. Rows are sent with {@link PreparedStatement#addBatch()} and
+ * {@link PreparedStatement#executeBatch()} in chunks of {@value #CHUNK_SIZE}, all within one transaction. The
+ * connection string enables <code>rewriteBatchedStatements</code>, so each chunk of inserts is sent to the server as a
+ * single multi-row statement. For tables with audit columns, the dates filled in by the server are read back once per
+ * chunk, within the same transaction.
+ */
+final class BatchWriter {
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * Binds one row's values to the parameters of a batched statement.
+     *
+     * @param <T> type of the rows being written
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    /**
+     * Builds the row reported as written, from the row passed in and its generated key.
+     *
+     * @param <T> type of the rows being written
+     */
+    @FunctionalInterface
+    interface Written<T> {
+        T from(T row, int generatedKey);
+    }
+
+    /**
+     * Builds the row reported as written, from the row passed in, its id and the audit dates filled in by the server.
+     *
+     * @param <T> type of the rows being written
+     */
+    @FunctionalInterface
+    interface Stamped<T> {
+        T from(T row, int id, AuditColumns.Stamps stamps);
+    }
+
+    /**
+     * Builds the rows reported as written from one chunk of rows the server reports as affected.
+     *
+     * @param <T> type of the rows being written
+     */
+    @FunctionalInterface
+    private interface Finisher<T> {
+        List<T> finish(Connection conn, List<T> rows, List<Integer> keys) throws SQLException;
+    }
+
+    private BatchWriter() {}
+
+    /**
+     * Writes all rows in one transaction. Rows the server reports as not affected are returned as failed while the
+     * rest are committed. If the batch throws, the transaction is rolled back and every row is returned as failed.
+     *
+     * @param mySqlConnection source of the connection to write on
+     * @param query SQL statement run once per row
+     * @param returnsKeys whether the statement generates keys that should be passed to <code>written</code>
+     * @param rows rows to write
+     * @param binder binds a row's values to the statement
+     * @param written builds the row reported as written
+     * @param <T> type of the rows being written
+     * @return per-row outcome of the batch
+     */
+    static <T> BatchResult<T> execute(MySqlConnection mySqlConnection, String query, boolean returnsKeys,
+                                      List<T> rows, Binder<T> binder, Written<T> written) {
+        return execute(mySqlConnection, query, returnsKeys, rows, binder, (conn, chunk, keys) -> {
+            List<T> built = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++)
+                built.add(written.from(chunk.get(i), keys.get(i)));
+            return built;
+        });
+    }
+
+    /**
+     * Writes all rows in one transaction, as {@link #execute(MySqlConnection, String, boolean, List, Binder, Written)}
+     * does, then reads back the audit dates the server filled in for each chunk of rows written.
+     *
+     * @param mySqlConnection source of the connection to write on
+     * @param query SQL statement run once per row
+     * @param returnsKeys whether the statement generates the ids of the rows, as an insert does
+     * @param rows rows to write
+     * @param binder binds a row's values to the statement
+     * @param audit audit columns of the table written to
+     * @param id gets the unique id of a row passed in, when the statement does not generate keys
+     * @param stamped builds the row reported as written
+     * @param <T> type of the rows being written
+     * @return per-row outcome of the batch
+     */
+    static <T> BatchResult<T> execute(MySqlConnection mySqlConnection, String query, boolean returnsKeys,
+                                      List<T> rows, Binder<T> binder, AuditColumns audit, ToIntFunction<T> id,
+                                      Stamped<T> stamped) {
+        return execute(mySqlConnection, query, returnsKeys, rows, binder, (conn, chunk, keys) -> {
+            List<Integer> ids = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++)
+                ids.add(returnsKeys ? keys.get(i) : id.applyAsInt(chunk.get(i)));
+            Map<Integer, AuditColumns.Stamps> stamps = audit.readAll(conn, ids);
+            List<T> built = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++)
+                built.add(stamped.from(chunk.get(i), ids.get(i),
+                        stamps.getOrDefault(ids.get(i), AuditColumns.Stamps.NONE)));
+            return built;
+        });
+    }
+
+    private static <T> BatchResult<T> execute(MySqlConnection mySqlConnection, String query, boolean returnsKeys,
+                                              List<T> rows, Binder<T> binder, Finisher<T> finisher) {
+        List<T> succeeded = new ArrayList<>();
+        List<T> failed = new ArrayList<>();
+        if (rows.isEmpty())
+            return new BatchResult<>(succeeded, failed);
+
+        int autoGeneratedKeys = returnsKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+        try (Connection conn = mySqlConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(query, autoGeneratedKeys)) {
+                for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+                    List<T> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+                    for (T row : chunk) {
+                        binder.bind(stmt, row);
+                        stmt.addBatch();
+                    }
+                    int[] counts = stmt.executeBatch();
+                    ResultSet keys = returnsKeys ? stmt.getGeneratedKeys() : null;
+                    List<T> written = new ArrayList<>(chunk.size());
+                    List<Integer> writtenKeys = new ArrayList<>(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                            written.add(chunk.get(i));
+                            writtenKeys.add((keys != null && keys.next()) ? keys.getInt(1) : -1);
+                        } else {
+                            failed.add(chunk.get(i));
+                        }
+                    }
+                    succeeded.addAll(finisher.finish(conn, written, writtenKeys));
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            succeeded.clear();
+            failed.clear();
+            failed.addAll(rows);
+        }
+        return new BatchResult<>(succeeded, failed);
+    }
+}
@@ -1,12 +1,15 @@
 package com.scheduler.access.object.mysql;
 
 import com.scheduler.access.connection.MySqlConnection;
+import com.scheduler.access.object.BatchResult;
 import com.scheduler.access.object.DAO;
+import com.scheduler.access.object.RowMapper;
 import com.scheduler.common.model.Contact;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementation class of the Data Access Object (DAO) interface to map the 'contacts' table rows in the SQL
@@ -14,6 +17,14 @@ import java.util.List;
  */
 public class ContactDAO implements DAO<Contact> {
 
+    private static final String INSERT_QUERY =
+            "INSERT INTO contacts (Contact_Name, Email) VALUES (?, ?);";
+    private static final String UPDATE_QUERY =
+            "UPDATE contacts SET Contact_Name=?, Email=? WHERE Contact_ID=?;";
+    private static final String DELETE_QUERY = "DELETE FROM contacts WHERE Contact_ID=?;";
+
+    private static final RowMapper<Contact> MAPPER = ContactRowMapper.INSTANCE;
+
     private final MySqlConnection mySqlConnection;
 
     /**
@@ -32,18 +43,12 @@ public class ContactDAO implements DAO<Contact> {
     @Override
     public Contact read(int id) {
         Contact contact = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM contacts WHERE Contact_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Contact_ID");
-                String name = rs.getString("Contact_Name");
-                String email = rs.getString("Email");
-                contact = new Contact(innerId, name, email);
-            }
+            contact = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -58,18 +63,12 @@ public class ContactDAO implements DAO<Contact> {
      */
     public Contact read(String name) {
         Contact contact = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM contacts WHERE Contact_Name=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setString(1, name);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Contact_ID");
-                String innerName = rs.getString("Contact_Name");
-                String email = rs.getString("Email");
-                contact = new Contact(id, innerName, email);
-            }
+            contact = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -84,23 +83,29 @@ public class ContactDAO implements DAO<Contact> {
     @Override
     public List<Contact> readAll() {
         List<Contact> contacts = new ArrayList<>();
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM contacts;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Contact_ID");
-                String name = rs.getString("Contact_Name");
-                String email = rs.getString("Email");
-                contacts.add(new Contact(innerId, name, email));
-            }
+            contacts = MAPPER.mapAll(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return contacts;
     }
 
+    /**
+     * Lazily read all rows from the 'contacts' table into Contact instances. Rows are fetched from the server in chunks
+     * as the stream is consumed. The stream should be closed if it is not read to the end.
+     *
+     * @return Stream of Contact model objects holding row data or an empty stream if the query failed.
+     */
+    @Override
+    public Stream<Contact> stream() {
+        final String QUERY = "SELECT * FROM contacts;";
+        return RowStreams.stream(mySqlConnection, QUERY, MAPPER);
+    }
+
     /**
      * Create a new row in the 'contacts' table.
      *
@@ -109,17 +114,18 @@ public class ContactDAO implements DAO<Contact> {
      */
     @Override
     public Contact create(Contact contact) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "INSERT INTO contacts (Contact_Name, Email) VALUES (?, ?);";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, contact.getName());
+        Contact created = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, contact);
             stmt.executeUpdate();
-            contact = read(contact.getName());
+            ResultSet keys = stmt.getGeneratedKeys();
+            if (keys.next())
+                created = created(contact, keys.getInt(1));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return contact;
+        return created;
     }
 
     /**
@@ -130,19 +136,16 @@ public class ContactDAO implements DAO<Contact> {
      */
     @Override
     public Contact update(Contact contact) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "UPDATE contacts SET Contact_Name=?, Email=? WHERE Contact_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, contact.getName());
-            stmt.setString(2, contact.getEmail());
-            stmt.setInt(3, contact.getId());
-            int successfulRows = stmt.executeUpdate();
-            contact = (successfulRows == 0) ? null : read(contact.getName());
+        Contact updated = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_QUERY)) {
+            bindUpdate(stmt, contact);
+            if (stmt.executeUpdate() > 0)
+                updated = contact;
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return contact;
+        return updated;
     }
 
     /**
@@ -154,10 +157,8 @@ public class ContactDAO implements DAO<Contact> {
     @Override
     public boolean delete(int id) {
         boolean rowIsDeleted = false;
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "DELETE FROM contacts WHERE Contact_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_QUERY)) {
             stmt.setInt(1, id);
             rowIsDeleted = stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -165,4 +166,55 @@ public class ContactDAO implements DAO<Contact> {
         }
         return rowIsDeleted;
     }
+
+    /**
+     * Create new rows in the 'contacts' table, in batches within one transaction.
+     *
+     * @param contacts Contact instances with required column data
+     * @return newly created Contact instances, and the given instances that could not be created
+     */
+    @Override
+    public BatchResult<Contact> createAll(List<Contact> contacts) {
+        return BatchWriter.execute(mySqlConnection, INSERT_QUERY, true, contacts,
+                (stmt, row) -> bindInsert(stmt, row), (row, key) -> created(row, key));
+    }
+
+    /**
+     * Update rows in the 'contacts' table, in batches within one transaction.
+     *
+     * @param contacts Contact instances with required column data
+     * @return updated Contact instances, and the given instances that could not be updated
+     */
+    @Override
+    public BatchResult<Contact> updateAll(List<Contact> contacts) {
+        return BatchWriter.execute(mySqlConnection, UPDATE_QUERY, false, contacts,
+                (stmt, row) -> bindUpdate(stmt, row), (row, key) -> row);
+    }
+
+    /**
+     * Delete rows in the 'contacts' table, in batches within one transaction.
+     *
+     * @param ids 'Contact_ID' column values (unique identifiers)
+     * @return ids of the deleted rows, and ids of the rows that could not be deleted
+     */
+    @Override
+    public BatchResult<Integer> deleteAll(List<Integer> ids) {
+        return BatchWriter.execute(mySqlConnection, DELETE_QUERY, false, ids,
+                (stmt, id) -> stmt.setInt(1, id), (id, key) -> id);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Contact contact) throws SQLException {
+        stmt.setString(1, contact.getName());
+        stmt.setString(2, contact.getEmail());
+    }
+
+    private static Contact created(Contact contact, int id) {
+        return new Contact(id, contact.getName(), contact.getEmail());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Contact contact) throws SQLException {
+        stmt.setString(1, contact.getName());
+        stmt.setString(2, contact.getEmail());
+        stmt.setInt(3, contact.getId());
+    }
 }
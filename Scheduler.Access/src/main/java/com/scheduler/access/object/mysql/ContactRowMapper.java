@@ -0,0 +1,23 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Contact;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'contacts' table to Contact Model objects.
+ */
+final class ContactRowMapper extends RowMapper<Contact> {
+    static final ContactRowMapper INSTANCE = new ContactRowMapper();
+
+    private ContactRowMapper() {
+        super("Contact_ID", "Contact_Name", "Email");
+    }
+
+    @Override
+    protected Contact map(ResultSet rs, int[] at) throws SQLException {
+        return new Contact(rs.getInt(at[0]), rs.getString(at[1]), rs.getString(at[2]));
+    }
+}
@@ -1,18 +1,35 @@
 package com.scheduler.access.object.mysql;
 
 import com.scheduler.access.connection.MySqlConnection;
-import com.scheduler.access.object.DAO;
+import com.scheduler.access.object.BatchResult;
+import com.scheduler.access.object.ChangeTrackingDAO;
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.access.object.TableVersion;
 import com.scheduler.common.model.Country;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation class of the Data Access Object (DAO) interface to map the 'countries' table rows in the SQL
  * Database to front-end 'Country' Model objects, to perform CRUD operations.
  */
-public class CountryDAO implements DAO<Country> {
+public class CountryDAO implements ChangeTrackingDAO<Country> {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO countries (Country, Create_Date, Created_By, Last_Update, Last_Updated_By) " +
+                    "VALUES (?, current_timestamp(), ?, current_timestamp(), ?);";
+    private static final String UPDATE_QUERY =
+            "UPDATE countries SET Country=?, Last_Update=current_timestamp(), Last_Updated_By=? WHERE Country_ID=?;";
+    private static final String DELETE_QUERY = "DELETE FROM countries WHERE Country_ID=?;";
+
+    private static final AuditColumns AUDIT = new AuditColumns("countries", "Country_ID");
+
+    private static final RowMapper<Country> MAPPER = CountryRowMapper.INSTANCE;
 
     private final MySqlConnection mySqlConnection;
 
@@ -32,21 +49,12 @@ public class CountryDAO implements DAO<Country> {
     @Override
     public Country read(int id) {
         Country country = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM countries WHERE Country_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Country_ID");
-                String name = rs.getString("Country");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                country = new Country(innerId, name, createDate, createdBy, lastUpdate, lastUpdatedBy);
-            }
+            country = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -61,21 +69,12 @@ public class CountryDAO implements DAO<Country> {
      */
     public Country read(String name) {
         Country country = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM countries WHERE Country=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setString(1, name);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Country_ID");
-                String innerName = rs.getString("Country");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                country = new Country(id, innerName, createDate, createdBy, lastUpdate, lastUpdatedBy);
-            }
+            country = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -90,26 +89,87 @@ public class CountryDAO implements DAO<Country> {
     @Override
     public List<Country> readAll() {
         List<Country> countries = new ArrayList<>();
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM countries;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Country_ID");
-                String name = rs.getString("Country");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                countries.add(new Country(id, name, createDate, createdBy, lastUpdate, lastUpdatedBy));
-            }
+            countries = MAPPER.mapAll(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return countries;
     }
 
+    /**
+     * Read the row count and latest 'Last_Update' of the 'countries' table, and how many rows were updated at or after
+     * the given time.
+     *
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return TableVersion instance or <em>null</em> if it could not be read
+     */
+    @Override
+    public TableVersion readVersion(Timestamp since) {
+        try (Connection conn = mySqlConnection.getConnection()) {
+            return AUDIT.readVersion(conn, since);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Read all rows from the 'countries' table created or updated at or after the given time.
+     *
+     * @param since earliest 'Last_Update' value to include, as read from the table
+     * @return List of Country instances holding row data or empty ArrayList object if no rows were found.
+     */
+    @Override
+    public List<Country> readChangedSince(Timestamp since) {
+        List<Country> countries = new ArrayList<>();
+        final String QUERY = "SELECT * FROM countries WHERE Last_Update>=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setTimestamp(1, since);
+            ResultSet rs = stmt.executeQuery();
+            countries = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return countries;
+    }
+
+    /**
+     * Read the 'Country_ID' of every row in the 'countries' table.
+     *
+     * @return Set of 'Country_ID' values or empty HashSet object if no rows were found.
+     */
+    @Override
+    public Set<Integer> readAllIds() {
+        Set<Integer> ids = new HashSet<>();
+        final String QUERY = "SELECT Country_ID FROM countries;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                ids.add(rs.getInt(1));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    /**
+     * Lazily read all rows from the 'countries' table into Country instances. Rows are fetched from the server in
+     * chunks as the stream is consumed. The stream should be closed if it is not read to the end.
+     *
+     * @return Stream of Country model objects holding row data or an empty stream if the query failed.
+     */
+    @Override
+    public Stream<Country> stream() {
+        final String QUERY = "SELECT * FROM countries;";
+        return RowStreams.stream(mySqlConnection, QUERY, MAPPER);
+    }
+
     /**
      * Create a new row in the 'countries' table.
      *
@@ -118,19 +178,20 @@ public class CountryDAO implements DAO<Country> {
      */
     @Override
     public Country create(Country country) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY =
-                "INSERT INTO first_level_divisions (Country, Create_Date, Created_By, Last_Update, Last_Updated_By) " +
-                        "VALUES (?, current_timestamp(), \"script\", current_timestamp(), \"script\");";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, country.getName());
+        Country created = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, country);
             stmt.executeUpdate();
-            country = read(country.getName());
+            ResultSet keys = stmt.getGeneratedKeys();
+            if (keys.next()) {
+                int id = keys.getInt(1);
+                created = created(country, id, AUDIT.read(conn, id));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return country;
+        return created;
     }
 
     /**
@@ -141,19 +202,16 @@ public class CountryDAO implements DAO<Country> {
      */
     @Override
     public Country update(Country country) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "UPDATE countries SET Country=?, " +
-                "Last_Update=current_timestamp(), Last_Updated_By=\"script\" WHERE Country_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, country.getName());
-            stmt.setInt(2, country.getId());
-            int successfulRows = stmt.executeUpdate();
-            country = (successfulRows == 0) ? null : read(country.getName());
+        Country updated = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_QUERY)) {
+            bindUpdate(stmt, country);
+            if (stmt.executeUpdate() > 0)
+                updated = updated(country, AUDIT.read(conn, country.getId()));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return country;
+        return updated;
     }
 
     /**
@@ -165,10 +223,8 @@ public class CountryDAO implements DAO<Country> {
     @Override
     public boolean delete(int id) {
         boolean rowIsDeleted = false;
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "DELETE FROM countries WHERE Country_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_QUERY)) {
             stmt.setInt(1, id);
             rowIsDeleted = stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -176,4 +232,62 @@ public class CountryDAO implements DAO<Country> {
         }
         return rowIsDeleted;
     }
+
+    /**
+     * Create new rows in the 'countries' table, in batches within one transaction.
+     *
+     * @param countries Country instances with required column data
+     * @return newly created Country instances, and the given instances that could not be created
+     */
+    @Override
+    public BatchResult<Country> createAll(List<Country> countries) {
+        return BatchWriter.execute(mySqlConnection, INSERT_QUERY, true, countries, CountryDAO::bindInsert, AUDIT,
+                Country::getId, CountryDAO::created);
+    }
+
+    /**
+     * Update rows in the 'countries' table, in batches within one transaction.
+     *
+     * @param countries Country instances with required column data
+     * @return updated Country instances, and the given instances that could not be updated
+     */
+    @Override
+    public BatchResult<Country> updateAll(List<Country> countries) {
+        return BatchWriter.execute(mySqlConnection, UPDATE_QUERY, false, countries, CountryDAO::bindUpdate, AUDIT,
+                Country::getId, (row, id, stamps) -> updated(row, stamps));
+    }
+
+    /**
+     * Delete rows in the 'countries' table, in batches within one transaction.
+     *
+     * @param ids 'Country_ID' column values (unique identifiers)
+     * @return ids of the deleted rows, and ids of the rows that could not be deleted
+     */
+    @Override
+    public BatchResult<Integer> deleteAll(List<Integer> ids) {
+        return BatchWriter.execute(mySqlConnection, DELETE_QUERY, false, ids,
+                (stmt, id) -> stmt.setInt(1, id), (id, key) -> id);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Country country) throws SQLException {
+        stmt.setString(1, country.getName());
+        stmt.setString(2, AuditColumns.USER);
+        stmt.setString(3, AuditColumns.USER);
+    }
+
+    private static Country created(Country country, int id, AuditColumns.Stamps stamps) {
+        return new Country(id, country.getName(), stamps.createDate(), AuditColumns.USER, stamps.lastUpdate(),
+                AuditColumns.USER);
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Country country) throws SQLException {
+        stmt.setString(1, country.getName());
+        stmt.setString(2, AuditColumns.USER);
+        stmt.setInt(3, country.getId());
+    }
+
+    private static Country updated(Country country, AuditColumns.Stamps stamps) {
+        return new Country(country.getId(), country.getName(), country.getCreateDate(), country.getCreatedBy(),
+                stamps.lastUpdate(), AuditColumns.USER);
+    }
 }
@@ -0,0 +1,24 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Country;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'countries' table to Country Model objects.
+ */
+final class CountryRowMapper extends RowMapper<Country> {
+    static final CountryRowMapper INSTANCE = new CountryRowMapper();
+
+    private CountryRowMapper() {
+        super("Country_ID", "Country", "Create_Date", "Created_By", "Last_Update", "Last_Updated_By");
+    }
+
+    @Override
+    protected Country map(ResultSet rs, int[] at) throws SQLException {
+        return new Country(rs.getInt(at[0]), rs.getString(at[1]), rs.getTimestamp(at[2]), rs.getString(at[3]),
+                rs.getTimestamp(at[4]), rs.getString(at[5]));
+    }
+}
@@ -1,18 +1,38 @@
 package com.scheduler.access.object.mysql;
 
 import com.scheduler.access.connection.MySqlConnection;
-import com.scheduler.access.object.DAO;
+import com.scheduler.access.object.BatchResult;
+import com.scheduler.access.object.ChangeTrackingDAO;
+import com.scheduler.access.object.PageableDAO;
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.access.object.TableVersion;
 import com.scheduler.common.model.Customer;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation class of the Data Access Object (DAO) interface to map the 'customers' table rows in the SQL
  * Database to front-end 'Customer' Model objects, to perform CRUD operations.
  */
-public class CustomerDAO implements DAO<Customer> {
+public class CustomerDAO implements PageableDAO<Customer>, ChangeTrackingDAO<Customer> {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO customers (Customer_Name, Address, Postal_Code, Phone, Create_Date, " +
+                    "Created_By, Last_Update, Last_Updated_By, Division_ID) " +
+                    "VALUES (?, ?, ?, ?, current_timestamp(), ?, current_timestamp(), ?, ?);";
+    private static final String UPDATE_QUERY =
+            "UPDATE customers SET Customer_Name=?, Address=?, Postal_Code=?, Phone=?, " +
+                    "Division_ID=?, Last_Update=current_timestamp(), Last_Updated_By=? WHERE Customer_ID=?;";
+    private static final String DELETE_QUERY = "DELETE FROM customers WHERE Customer_ID=?;";
+
+    private static final AuditColumns AUDIT = new AuditColumns("customers", "Customer_ID");
+
+    private static final RowMapper<Customer> MAPPER = CustomerRowMapper.INSTANCE;
 
     private final MySqlConnection mySqlConnection;
 
@@ -32,26 +52,12 @@ public class CustomerDAO implements DAO<Customer> {
     @Override
     public Customer read(int id) {
         Customer customer = null;
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY = "SELECT * FROM customers WHERE Customer_ID=?;";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        final String QUERY = "SELECT * FROM customers WHERE Customer_ID=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setInt(1,id);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Customer_ID");
-                String name = rs.getString("Customer_Name");
-                String address = rs.getString("Address");
-                String postalCode = rs.getString("Postal_Code");
-                String phone = rs.getString("Phone");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int divisionId = rs.getInt("Division_ID");
-                customer = new Customer(innerId, name, address, postalCode, phone, createDate, createdBy,
-                        lastUpdate, lastUpdatedBy, divisionId);
-            }
+            customer = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -66,26 +72,12 @@ public class CustomerDAO implements DAO<Customer> {
      */
     public Customer read(String name) {
         Customer customer = null;
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY = "SELECT * FROM customers WHERE Customer_Name=?;";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        final String QUERY = "SELECT * FROM customers WHERE Customer_Name=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setString(1, name);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Customer_ID");
-                String innerName = rs.getString("Customer_Name");
-                String address = rs.getString("Address");
-                String postalCode = rs.getString("Postal_Code");
-                String phone = rs.getString("Phone");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int divisionId = rs.getInt("Division_ID");
-                customer = new Customer(id, innerName, address, postalCode, phone, createDate, createdBy,
-                        lastUpdate, lastUpdatedBy, divisionId);
-            }
+            customer = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -100,58 +92,154 @@ public class CustomerDAO implements DAO<Customer> {
     @Override
     public List<Customer> readAll() {
         List<Customer> customers = new ArrayList<>();
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY = "SELECT * FROM customers;";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        final String QUERY = "SELECT * FROM customers;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Customer_ID");
-                String name = rs.getString("Customer_Name");
-                String address = rs.getString("Address");
-                String postalCode = rs.getString("Postal_Code");
-                String phone = rs.getString("Phone");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int divisionId = rs.getInt("Division_ID");
-                customers.add(new Customer(innerId, name, address, postalCode, phone, createDate, createdBy,
-                        lastUpdate, lastUpdatedBy, divisionId));
-            }
+            customers = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return customers;
+    }
+
+    /**
+     * Read all rows from the 'customers' table along with each customer's 'first_level_divisions' and 'countries'
+     * rows, in one query. Customers in the same division share one Division instance, and divisions in the same
+     * country share one Country instance. A customer whose division row is missing is still read, without a Division.
+     *
+     * @return List of Customer instances, with Division and Country set, or empty ArrayList object if no rows were
+     * found.
+     */
+    public List<Customer> readAllWithDivisions() {
+        List<Customer> customers = new ArrayList<>();
+        final String QUERY = "SELECT " + CustomerDetailRowMapper.FROM + ";";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            customers = CustomerDetailRowMapper.INSTANCE.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return customers;
+    }
+
+    /**
+     * Read one page of rows from the 'customers' table, in ascending 'Customer_ID' order, starting after the given id.
+     *
+     * @param afterId 'Customer_ID' of the last row of the previous page, or 0 for the first page
+     * @param limit maximum number of rows to read
+     * @return List of Customer instances holding row data or empty ArrayList object if there are no more rows.
+     */
+    @Override
+    public List<Customer> readPage(int afterId, int limit) {
+        List<Customer> customers = new ArrayList<>();
+        final String QUERY = "SELECT * FROM customers WHERE Customer_ID>? ORDER BY Customer_ID LIMIT ?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+            customers = MAPPER.mapAll(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return customers;
     }
 
+    /**
+     * Read the row count and latest 'Last_Update' of the 'customers' table, and how many rows were updated at or after
+     * the given time.
+     *
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return TableVersion instance or <em>null</em> if it could not be read
+     */
+    @Override
+    public TableVersion readVersion(Timestamp since) {
+        try (Connection conn = mySqlConnection.getConnection()) {
+            return AUDIT.readVersion(conn, since);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Read all rows from the 'customers' table created or updated at or after the given time, along with each
+     * customer's division and country.
+     *
+     * @param since earliest 'Last_Update' value to include, as read from the table
+     * @return List of Customer instances holding row data or empty ArrayList object if no rows were found.
+     */
+    @Override
+    public List<Customer> readChangedSince(Timestamp since) {
+        List<Customer> customers = new ArrayList<>();
+        final String QUERY = "SELECT " + CustomerDetailRowMapper.FROM + " WHERE cu.Last_Update>=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setTimestamp(1, since);
+            ResultSet rs = stmt.executeQuery();
+            customers = CustomerDetailRowMapper.INSTANCE.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return customers;
+    }
+
+    /**
+     * Read the 'Customer_ID' of every row in the 'customers' table.
+     *
+     * @return Set of 'Customer_ID' values or empty HashSet object if no rows were found.
+     */
+    @Override
+    public Set<Integer> readAllIds() {
+        Set<Integer> ids = new HashSet<>();
+        final String QUERY = "SELECT Customer_ID FROM customers;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                ids.add(rs.getInt(1));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    /**
+     * Lazily read all rows from the 'customers' table into Customer instances. Rows are fetched from the server in
+     * chunks as the stream is consumed. The stream should be closed if it is not read to the end.
+     *
+     * @return Stream of Customer model objects holding row data or an empty stream if the query failed.
+     */
+    @Override
+    public Stream<Customer> stream() {
+        final String QUERY = "SELECT * FROM customers;";
+        return RowStreams.stream(mySqlConnection, QUERY, MAPPER);
+    }
+
     /**
      * Create a new row in the 'customers' table.
      *
      * @param customer Customer instance with required column data
-     * @return Customer instance from newly created table row or null if not successful
+     * @return Customer instance from newly created table row or <em>null</em> if row creation was not successful
      */
     @Override
     public Customer create(Customer customer) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY =
-                "INSERT INTO customers (Customer_Name, Address, Postal_Code, Phone, Create_Date, " +
-                        "Created_By, Last_Update, Last_Updated_By, Division_ID) " +
-                        "VALUES (?, ?, ?, ?, current_timestamp(), \"script\", current_timestamp(), " +
-                        "\"script\", ?);";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, customer.getName());
-            stmt.setString(2, customer.getAddress());
-            stmt.setString(3, customer.getPostalCode());
-            stmt.setString(4, customer.getPhone());
-            stmt.setInt(5, customer.getDivisionId());
+        Customer created = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, customer);
             stmt.executeUpdate();
-            customer = read(customer.getName());
+            ResultSet keys = stmt.getGeneratedKeys();
+            if (keys.next()) {
+                int id = keys.getInt(1);
+                created = created(customer, id, AUDIT.read(conn, id));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return customer;
+        return created;
     }
 
     /**
@@ -162,23 +250,16 @@ public class CustomerDAO implements DAO<Customer> {
      */
     @Override
     public Customer update(Customer customer) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "UPDATE customers SET Customer_Name=?, Address=?, Postal_Code=?, Phone=?, " +
-                "Division_ID=?, Last_Update=current_timestamp(), Last_Updated_By=\"script\" WHERE Customer_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, customer.getName());
-            stmt.setString(2, customer.getAddress());
-            stmt.setString(3, customer.getPostalCode());
-            stmt.setString(4, customer.getPhone());
-            stmt.setInt(5, customer.getDivisionId());
-            stmt.setInt(6, customer.getId());
-            int successfulRows = stmt.executeUpdate();
-            customer = (successfulRows == 0) ? null : read(customer.getName());
+        Customer updated = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_QUERY)) {
+            bindUpdate(stmt, customer);
+            if (stmt.executeUpdate() > 0)
+                updated = updated(customer, AUDIT.read(conn, customer.getId()));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return customer;
+        return updated;
     }
 
     /**
@@ -190,10 +271,8 @@ public class CustomerDAO implements DAO<Customer> {
     @Override
     public boolean delete(int id) {
         boolean rowIsDeleted = false;
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "DELETE FROM customers WHERE Customer_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_QUERY)) {
             stmt.setInt(1, id);
             rowIsDeleted = stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -201,4 +280,110 @@ public class CustomerDAO implements DAO<Customer> {
         }
         return rowIsDeleted;
     }
+
+    /**
+     * Delete a row in the 'customers' table, within the given unit of work. The row stays in the table until the unit
+     * of work is committed.
+     *
+     * @param work unit of work to run the statement in
+     * @param id 'Customer_ID' column value (unique identifier)
+     * @return Boolean of true if deleted, false if no row has the given id
+     * @throws SQLException if the statement failed; the unit of work should then not be committed
+     */
+    public boolean delete(UnitOfWork work, int id) throws SQLException {
+        try (PreparedStatement stmt = work.prepareStatement(DELETE_QUERY)) {
+            stmt.setInt(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Delete a row in the 'customers' table together with every row in the 'appointments' table belonging to it, in
+     * one transaction. Either all of the rows are deleted or, if any statement fails or the customer does not exist,
+     * none of them are.
+     *
+     * @param id 'Customer_ID' column value (unique identifier)
+     * @return Boolean of true if the customer and its appointments were deleted, false if nothing was deleted
+     */
+    public boolean deleteWithAppointments(int id) {
+        boolean rowIsDeleted = false;
+        try (UnitOfWork work = new UnitOfWork()) {
+            new AppointmentDAO().deleteByCustomerId(work, id);
+            if (delete(work, id)) {
+                work.commit();
+                rowIsDeleted = true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rowIsDeleted;
+    }
+
+    /**
+     * Create new rows in the 'customers' table, in batches within one transaction.
+     *
+     * @param customers Customer instances with required column data
+     * @return newly created Customer instances, and the given instances that could not be created
+     */
+    @Override
+    public BatchResult<Customer> createAll(List<Customer> customers) {
+        return BatchWriter.execute(mySqlConnection, INSERT_QUERY, true, customers, CustomerDAO::bindInsert, AUDIT,
+                Customer::getId, CustomerDAO::created);
+    }
+
+    /**
+     * Update rows in the 'customers' table, in batches within one transaction.
+     *
+     * @param customers Customer instances with required column data
+     * @return updated Customer instances, and the given instances that could not be updated
+     */
+    @Override
+    public BatchResult<Customer> updateAll(List<Customer> customers) {
+        return BatchWriter.execute(mySqlConnection, UPDATE_QUERY, false, customers, CustomerDAO::bindUpdate, AUDIT,
+                Customer::getId, (row, id, stamps) -> updated(row, stamps));
+    }
+
+    /**
+     * Delete rows in the 'customers' table, in batches within one transaction.
+     *
+     * @param ids 'Customer_ID' column values (unique identifiers)
+     * @return ids of the deleted rows, and ids of the rows that could not be deleted
+     */
+    @Override
+    public BatchResult<Integer> deleteAll(List<Integer> ids) {
+        return BatchWriter.execute(mySqlConnection, DELETE_QUERY, false, ids,
+                (stmt, id) -> stmt.setInt(1, id), (id, key) -> id);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Customer customer) throws SQLException {
+        stmt.setString(1, customer.getName());
+        stmt.setString(2, customer.getAddress());
+        stmt.setString(3, customer.getPostalCode());
+        stmt.setString(4, customer.getPhone());
+        stmt.setString(5, AuditColumns.USER);
+        stmt.setString(6, AuditColumns.USER);
+        stmt.setInt(7, customer.getDivisionId());
+    }
+
+    private static Customer created(Customer customer, int id, AuditColumns.Stamps stamps) {
+        return new Customer(id, customer.getName(), customer.getAddress(), customer.getPostalCode(),
+                customer.getPhone(), stamps.createDate(), AuditColumns.USER, stamps.lastUpdate(), AuditColumns.USER,
+                customer.getDivisionId());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Customer customer) throws SQLException {
+        stmt.setString(1, customer.getName());
+        stmt.setString(2, customer.getAddress());
+        stmt.setString(3, customer.getPostalCode());
+        stmt.setString(4, customer.getPhone());
+        stmt.setInt(5, customer.getDivisionId());
+        stmt.setString(6, AuditColumns.USER);
+        stmt.setInt(7, customer.getId());
+    }
+
+    private static Customer updated(Customer customer, AuditColumns.Stamps stamps) {
+        return new Customer(customer.getId(), customer.getName(), customer.getAddress(), customer.getPostalCode(),
+                customer.getPhone(), customer.getCreateDate(), customer.getCreatedBy(), stamps.lastUpdate(),
+                AuditColumns.USER, customer.getDivisionId());
+    }
 }
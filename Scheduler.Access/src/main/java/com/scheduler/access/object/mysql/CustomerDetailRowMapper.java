@@ -0,0 +1,96 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Country;
+import com.scheduler.common.model.Customer;
+import com.scheduler.common.model.Division;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps rows of the 'customers' table, joined with their 'first_level_divisions' and 'countries' rows, to Customer
+ * Model objects with their Division and its Country set.
+ * <p>
+ * Divisions and countries are interned by ID per result set: the first row of a division builds its Division, with
+ * its Country interned the same way, and every later row of that division is given the same instance without reading
+ * the division or country columns again. The joins are outer joins, so a customer whose division row is missing is
+ * still read, without a Division; likewise a division whose country row is missing has no Country.
+ */
+final class CustomerDetailRowMapper extends RowMapper<Customer> {
+    static final CustomerDetailRowMapper INSTANCE = new CustomerDetailRowMapper();
+
+    /** Select list and joined tables for queries read through this mapper; the customers table is aliased 'cu'. */
+    static final String FROM =
+            "cu.*, " +
+            "d.Division_ID AS Joined_Division_ID, " +
+            "d.Division, d.Create_Date AS Division_Create_Date, d.Created_By AS Division_Created_By, " +
+            "d.Last_Update AS Division_Last_Update, d.Last_Updated_By AS Division_Last_Updated_By, d.Country_ID, " +
+            "co.Country_ID AS Joined_Country_ID, " +
+            "co.Country, co.Create_Date AS Country_Create_Date, co.Created_By AS Country_Created_By, " +
+            "co.Last_Update AS Country_Last_Update, co.Last_Updated_By AS Country_Last_Updated_By " +
+            "FROM customers cu " +
+            "LEFT JOIN first_level_divisions d ON d.Division_ID = cu.Division_ID " +
+            "LEFT JOIN countries co ON co.Country_ID = d.Country_ID";
+
+    private CustomerDetailRowMapper() {
+        super("Customer_ID", "Customer_Name", "Address", "Postal_Code", "Phone", "Create_Date", "Created_By",
+                "Last_Update", "Last_Updated_By", "Division_ID",
+                "Joined_Division_ID", "Division", "Division_Create_Date", "Division_Created_By",
+                "Division_Last_Update", "Division_Last_Updated_By", "Country_ID",
+                "Joined_Country_ID", "Country", "Country_Create_Date", "Country_Created_By", "Country_Last_Update",
+                "Country_Last_Updated_By");
+    }
+
+    /**
+     * Resolves the mapper's columns against the given result set, with divisions and countries interned across the
+     * rows of that result set.
+     *
+     * @param rs result set the returned mapping will read from
+     * @return mapping for the rows of the given result set
+     * @throws SQLException if a column is missing from the result set
+     */
+    @Override
+    public Bound<Customer> bind(ResultSet rs) throws SQLException {
+        int[] at = positions(rs);
+        Map<Integer, Division> divisions = new HashMap<>();
+        Map<Integer, Country> countries = new HashMap<>();
+        return row -> map(row, at, divisions, countries);
+    }
+
+    @Override
+    protected Customer map(ResultSet rs, int[] at) throws SQLException {
+        return map(rs, at, new HashMap<>(), new HashMap<>());
+    }
+
+    private Customer map(ResultSet rs, int[] at, Map<Integer, Division> divisions, Map<Integer, Country> countries)
+            throws SQLException {
+        Customer customer = new Customer(rs.getInt(at[0]), rs.getString(at[1]), rs.getString(at[2]),
+                rs.getString(at[3]), rs.getString(at[4]), rs.getTimestamp(at[5]), rs.getString(at[6]),
+                rs.getTimestamp(at[7]), rs.getString(at[8]), rs.getInt(at[9]));
+
+        int divisionId = rs.getInt(at[10]);
+        if (rs.wasNull())
+            return customer;
+        Division division = divisions.get(divisionId);
+        if (division == null) {
+            division = new Division(divisionId, rs.getString(at[11]), rs.getTimestamp(at[12]), rs.getString(at[13]),
+                    rs.getTimestamp(at[14]), rs.getString(at[15]), rs.getInt(at[16]));
+            int countryId = rs.getInt(at[17]);
+            if (!rs.wasNull()) {
+                Country country = countries.get(countryId);
+                if (country == null) {
+                    country = new Country(countryId, rs.getString(at[18]), rs.getTimestamp(at[19]),
+                            rs.getString(at[20]), rs.getTimestamp(at[21]), rs.getString(at[22]));
+                    countries.put(countryId, country);
+                }
+                division.setCountry(country);
+            }
+            divisions.put(divisionId, division);
+        }
+        customer.setDivision(division);
+        return customer;
+    }
+}
@@ -0,0 +1,26 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Customer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'customers' table to Customer Model objects.
+ */
+final class CustomerRowMapper extends RowMapper<Customer> {
+    static final CustomerRowMapper INSTANCE = new CustomerRowMapper();
+
+    private CustomerRowMapper() {
+        super("Customer_ID", "Customer_Name", "Address", "Postal_Code", "Phone", "Create_Date", "Created_By",
+                "Last_Update", "Last_Updated_By", "Division_ID");
+    }
+
+    @Override
+    protected Customer map(ResultSet rs, int[] at) throws SQLException {
+        return new Customer(rs.getInt(at[0]), rs.getString(at[1]), rs.getString(at[2]), rs.getString(at[3]),
+                rs.getString(at[4]), rs.getTimestamp(at[5]), rs.getString(at[6]), rs.getTimestamp(at[7]),
+                rs.getString(at[8]), rs.getInt(at[9]));
+    }
+}
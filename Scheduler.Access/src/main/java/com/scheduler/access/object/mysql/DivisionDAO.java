@@ -1,18 +1,37 @@
 package com.scheduler.access.object.mysql;
 
 import com.scheduler.access.connection.MySqlConnection;
-import com.scheduler.access.object.DAO;
+import com.scheduler.access.object.BatchResult;
+import com.scheduler.access.object.ChangeTrackingDAO;
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.access.object.TableVersion;
 import com.scheduler.common.model.Division;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation class of the Data Access Object (DAO) interface to map the 'first_level_divisions' table rows in the
  * SQL Database to front-end 'Division' Model objects, to perform CRUD operations.
  */
-public class DivisionDAO implements DAO<Division> {
+public class DivisionDAO implements ChangeTrackingDAO<Division> {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO first_level_divisions (Division, Create_Date, Created_By, Last_Update, Last_Updated_By, " +
+                    "Country_ID) " +
+                    "VALUES (?, current_timestamp(), ?, current_timestamp(), ?, ?);";
+    private static final String UPDATE_QUERY =
+            "UPDATE first_level_divisions SET Division=?, Country_ID=?, " +
+                    "Last_Update=current_timestamp(), Last_Updated_By=? WHERE Division_ID=?;";
+    private static final String DELETE_QUERY = "DELETE FROM first_level_divisions WHERE Division_ID=?;";
+
+    private static final AuditColumns AUDIT = new AuditColumns("first_level_divisions", "Division_ID");
+
+    private static final RowMapper<Division> MAPPER = DivisionRowMapper.INSTANCE;
 
     private final MySqlConnection mySqlConnection;
 
@@ -32,23 +51,12 @@ public class DivisionDAO implements DAO<Division> {
     @Override
     public Division read(int id) {
         Division division = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM first_level_divisions WHERE Division_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Division_ID");
-                String name = rs.getString("Division");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int countryId = rs.getInt("Country_ID");
-                division = new Division(innerId, name, createDate, createdBy, lastUpdate, lastUpdatedBy,
-                        countryId);
-            }
+            division = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -63,23 +71,12 @@ public class DivisionDAO implements DAO<Division> {
      */
     public Division read(String name) {
         Division division = null;
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM first_level_divisions WHERE Division=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setString(1, name);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("Division_ID");
-                String innerName = rs.getString("Division");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int countryId = rs.getInt("Country_ID");
-                division = new Division(id, innerName, createDate, createdBy, lastUpdate, lastUpdatedBy,
-                        countryId);
-            }
+            division = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -94,51 +91,109 @@ public class DivisionDAO implements DAO<Division> {
     @Override
     public List<Division> readAll() {
         List<Division> divisions = new ArrayList<>();
-        Connection conn = mySqlConnection.getConnection();
         final String QUERY = "SELECT * FROM first_level_divisions;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("Division_ID");
-                String name = rs.getString("Division");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                int countryId = rs.getInt("Country_ID");
-                divisions.add(new Division(innerId, name, createDate, createdBy, lastUpdate, lastUpdatedBy,
-                        countryId));
-            }
+            divisions = MAPPER.mapAll(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return divisions;
     }
 
+    /**
+     * Read the row count and latest 'Last_Update' of the 'first_level_divisions' table, and how many rows were
+     * updated at or after the given time.
+     *
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return TableVersion instance or <em>null</em> if it could not be read
+     */
+    @Override
+    public TableVersion readVersion(Timestamp since) {
+        try (Connection conn = mySqlConnection.getConnection()) {
+            return AUDIT.readVersion(conn, since);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Read all rows from the 'first_level_divisions' table created or updated at or after the given time.
+     *
+     * @param since earliest 'Last_Update' value to include, as read from the table
+     * @return List of Division instances holding row data or empty ArrayList object if no rows were found.
+     */
+    @Override
+    public List<Division> readChangedSince(Timestamp since) {
+        List<Division> divisions = new ArrayList<>();
+        final String QUERY = "SELECT * FROM first_level_divisions WHERE Last_Update>=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setTimestamp(1, since);
+            ResultSet rs = stmt.executeQuery();
+            divisions = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return divisions;
+    }
+
+    /**
+     * Read the 'Division_ID' of every row in the 'first_level_divisions' table.
+     *
+     * @return Set of 'Division_ID' values or empty HashSet object if no rows were found.
+     */
+    @Override
+    public Set<Integer> readAllIds() {
+        Set<Integer> ids = new HashSet<>();
+        final String QUERY = "SELECT Division_ID FROM first_level_divisions;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                ids.add(rs.getInt(1));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    /**
+     * Lazily read all rows from the 'first_level_divisions' table into Division instances. Rows are fetched from the
+     * server in chunks as the stream is consumed. The stream should be closed if it is not read to the end.
+     *
+     * @return Stream of Division model objects holding row data or an empty stream if the query failed.
+     */
+    @Override
+    public Stream<Division> stream() {
+        final String QUERY = "SELECT * FROM first_level_divisions;";
+        return RowStreams.stream(mySqlConnection, QUERY, MAPPER);
+    }
+
     /**
      * Create a new row in the 'first_level_divisions' table.
      *
      * @param division Division instance with required column data
-     * @return Division instance from newly created table row or <em>null</em> if not successful
+     * @return Division instance from newly created table row or <em>null</em> if row creation was not successful
      */
     @Override
     public Division create(Division division) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY =
-                "INSERT INTO first_level_divisions (Division, Create_Date, Created_By, Last_Update, Last_Updated_By, " +
-                        "Country_ID) " +
-                        "VALUES (?, current_timestamp(), \"script\", current_timestamp(), \"script\", ?);";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, division.getName());
-            stmt.setInt(2, division.getCountryId());
+        Division created = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, division);
             stmt.executeUpdate();
-            division = read(division.getName());
+            ResultSet keys = stmt.getGeneratedKeys();
+            if (keys.next()) {
+                int id = keys.getInt(1);
+                created = created(division, id, AUDIT.read(conn, id));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return division;
+        return created;
     }
 
     /**
@@ -149,20 +204,16 @@ public class DivisionDAO implements DAO<Division> {
      */
     @Override
     public Division update(Division division) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "UPDATE first_level_divisions SET Division=?, Country_ID=?, " +
-                "Last_Update=current_timestamp(), Last_Updated_By=\"script\" WHERE Division_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, division.getName());
-            stmt.setInt(2, division.getCountryId());
-            stmt.setInt(3, division.getId());
-            int successfulRows = stmt.executeUpdate();
-            division = (successfulRows == 0) ? null : read(division.getName());
+        Division updated = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_QUERY)) {
+            bindUpdate(stmt, division);
+            if (stmt.executeUpdate() > 0)
+                updated = updated(division, AUDIT.read(conn, division.getId()));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return division;
+        return updated;
     }
 
     /**
@@ -174,10 +225,8 @@ public class DivisionDAO implements DAO<Division> {
     @Override
     public boolean delete(int id) {
         boolean rowIsDeleted = false;
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "DELETE FROM divisions WHERE Division_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_QUERY)) {
             stmt.setInt(1, id);
             rowIsDeleted = stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -185,4 +234,64 @@ public class DivisionDAO implements DAO<Division> {
         }
         return rowIsDeleted;
     }
+
+    /**
+     * Create new rows in the 'first_level_divisions' table, in batches within one transaction.
+     *
+     * @param divisions Division instances with required column data
+     * @return newly created Division instances, and the given instances that could not be created
+     */
+    @Override
+    public BatchResult<Division> createAll(List<Division> divisions) {
+        return BatchWriter.execute(mySqlConnection, INSERT_QUERY, true, divisions, DivisionDAO::bindInsert, AUDIT,
+                Division::getId, DivisionDAO::created);
+    }
+
+    /**
+     * Update rows in the 'first_level_divisions' table, in batches within one transaction.
+     *
+     * @param divisions Division instances with required column data
+     * @return updated Division instances, and the given instances that could not be updated
+     */
+    @Override
+    public BatchResult<Division> updateAll(List<Division> divisions) {
+        return BatchWriter.execute(mySqlConnection, UPDATE_QUERY, false, divisions, DivisionDAO::bindUpdate, AUDIT,
+                Division::getId, (row, id, stamps) -> updated(row, stamps));
+    }
+
+    /**
+     * Delete rows in the 'first_level_divisions' table, in batches within one transaction.
+     *
+     * @param ids 'Division_ID' column values (unique identifiers)
+     * @return ids of the deleted rows, and ids of the rows that could not be deleted
+     */
+    @Override
+    public BatchResult<Integer> deleteAll(List<Integer> ids) {
+        return BatchWriter.execute(mySqlConnection, DELETE_QUERY, false, ids,
+                (stmt, id) -> stmt.setInt(1, id), (id, key) -> id);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Division division) throws SQLException {
+        stmt.setString(1, division.getName());
+        stmt.setString(2, AuditColumns.USER);
+        stmt.setString(3, AuditColumns.USER);
+        stmt.setInt(4, division.getCountryId());
+    }
+
+    private static Division created(Division division, int id, AuditColumns.Stamps stamps) {
+        return new Division(id, division.getName(), stamps.createDate(), AuditColumns.USER, stamps.lastUpdate(),
+                AuditColumns.USER, division.getCountryId());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Division division) throws SQLException {
+        stmt.setString(1, division.getName());
+        stmt.setInt(2, division.getCountryId());
+        stmt.setString(3, AuditColumns.USER);
+        stmt.setInt(4, division.getId());
+    }
+
+    private static Division updated(Division division, AuditColumns.Stamps stamps) {
+        return new Division(division.getId(), division.getName(), division.getCreateDate(), division.getCreatedBy(),
+                stamps.lastUpdate(), AuditColumns.USER, division.getCountryId());
+    }
 }
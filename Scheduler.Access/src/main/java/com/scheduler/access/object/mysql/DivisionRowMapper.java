@@ -0,0 +1,24 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.Division;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'first_level_divisions' table to Division Model objects.
+ */
+final class DivisionRowMapper extends RowMapper<Division> {
+    static final DivisionRowMapper INSTANCE = new DivisionRowMapper();
+
+    private DivisionRowMapper() {
+        super("Division_ID", "Division", "Create_Date", "Created_By", "Last_Update", "Last_Updated_By", "Country_ID");
+    }
+
+    @Override
+    protected Division map(ResultSet rs, int[] at) throws SQLException {
+        return new Division(rs.getInt(at[0]), rs.getString(at[1]), rs.getTimestamp(at[2]), rs.getString(at[3]),
+                rs.getTimestamp(at[4]), rs.getString(at[5]), rs.getInt(at[6]));
+    }
+}
@@ -0,0 +1,49 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.common.model.Appointment;
+import com.scheduler.common.model.Contact;
+import com.scheduler.common.model.Country;
+import com.scheduler.common.model.Customer;
+import com.scheduler.common.model.Division;
+import com.scheduler.common.model.User;
+
+import java.util.List;
+
+/**
+ * Tables read together by {@link ReferenceDataLoader}, as the lists the services are built from. Customers are read
+ * with their divisions and countries, and appointments with their contact names. Tables the loader was not asked to
+ * read are <em>null</em>.
+ */
+public class ReferenceData {
+    private final List<Country> countries;
+    private final List<Division> divisions;
+    private final List<Contact> contacts;
+    private final List<User> users;
+    private final List<Customer> customers;
+    private final List<Appointment> appointments;
+    private final long loadMillis;
+
+    ReferenceData(List<Country> countries, List<Division> divisions, List<Contact> contacts, List<User> users,
+                  List<Customer> customers, List<Appointment> appointments, long loadMillis) {
+        this.countries = countries;
+        this.divisions = divisions;
+        this.contacts = contacts;
+        this.users = users;
+        this.customers = customers;
+        this.appointments = appointments;
+        this.loadMillis = loadMillis;
+    }
+
+    public List<Country> getCountries() { return countries; }
+    public List<Division> getDivisions() { return divisions; }
+    public List<Contact> getContacts() { return contacts; }
+    public List<User> getUsers() { return users; }
+    public List<Customer> getCustomers() { return customers; }
+    public List<Appointment> getAppointments() { return appointments; }
+
+    /**
+     * Gets the wall-clock time taken to read every table.
+     * @return load time in milliseconds
+     */
+    public long getLoadMillis() { return loadMillis; }
+}
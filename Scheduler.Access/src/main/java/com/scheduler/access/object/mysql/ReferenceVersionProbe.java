@@ -0,0 +1,63 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.connection.MySqlConnection;
+import com.scheduler.access.snapshot.ReferenceSnapshot;
+import com.scheduler.access.snapshot.ReferenceVersion;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the {@link ReferenceVersion} of the database in a single round trip. Every value is an aggregate over a small
+ * table, so the probe costs far less than reading the tables themselves.
+ */
+public class ReferenceVersionProbe {
+    private static final String QUERY =
+            "SELECT (SELECT COUNT(*) FROM countries) AS Countries, " +
+                    "(SELECT MAX(Last_Update) FROM countries) AS Countries_Updated, " +
+                    "(SELECT COUNT(*) FROM first_level_divisions) AS Divisions, " +
+                    "(SELECT MAX(Last_Update) FROM first_level_divisions) AS Divisions_Updated, " +
+                    "(SELECT COUNT(*) FROM contacts) AS Contacts, " +
+                    "(SELECT COALESCE(BIT_XOR(CRC32(CONCAT_WS('|', Contact_ID, Contact_Name, Email))), 0) " +
+                    "FROM contacts) AS Contacts_Checksum, " +
+                    "(SELECT COUNT(*) FROM users) AS Users, " +
+                    "(SELECT MAX(Last_Update) FROM users) AS Users_Updated;";
+
+    private final MySqlConnection mySqlConnection;
+
+    /**
+     * Constructor: Creates or retrieves Singleton instance of the DB Connection.
+     */
+    public ReferenceVersionProbe() {
+        mySqlConnection = MySqlConnection.getInstance();
+    }
+
+    /**
+     * Read the current version of the reference tables.
+     *
+     * @return version of the reference tables or <em>null</em> if it could not be read
+     */
+    public ReferenceVersion read() {
+        ReferenceVersion version = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                version = new ReferenceVersion(
+                        rs.getLong("Countries"),
+                        ReferenceSnapshot.toEpochSecond(rs.getTimestamp("Countries_Updated")),
+                        rs.getLong("Divisions"),
+                        ReferenceSnapshot.toEpochSecond(rs.getTimestamp("Divisions_Updated")),
+                        rs.getLong("Contacts"),
+                        rs.getLong("Contacts_Checksum"),
+                        rs.getLong("Users"),
+                        ReferenceSnapshot.toEpochSecond(rs.getTimestamp("Users_Updated")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return version;
+    }
+}
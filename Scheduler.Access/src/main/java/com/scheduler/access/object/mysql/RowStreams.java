@@ -0,0 +1,118 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.connection.MySqlConnection;
+import com.scheduler.access.object.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily maps the rows of a query into a {@link Stream}. The query is run with a fetch size, which together with
+ * 'useCursorFetch' on the connection string makes the server hand rows over in chunks through a cursor, so only one
+ * chunk of a large table is held in memory at a time.
+ * <p>
+ * The connection, statement and result set stay open while the stream is being consumed. They are released once the
+ * last row has been read, or when the stream is closed, whichever comes first; a stream that may be abandoned early
+ * must be closed, e.g. with try-with-resources.
+ */
+final class RowStreams {
+    /** Number of rows fetched from the server per round trip. */
+    static final int FETCH_SIZE = 500;
+
+    private RowStreams() {}
+
+    /**
+     * Runs the query and streams its mapped rows.
+     *
+     * @param mySqlConnection connection the query is run on
+     * @param query SQL query without parameters
+     * @param mapper maps each row
+     * @param <T> type of the mapped rows
+     * @return stream of mapped rows, or an empty stream if the query could not be run
+     */
+    static <T> Stream<T> stream(MySqlConnection mySqlConnection, String query, RowMapper<T> mapper) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        RowMapper.Bound<T> bound;
+        try {
+            conn = mySqlConnection.getConnection();
+            stmt = conn.prepareStatement(query);
+            stmt.setFetchSize(FETCH_SIZE);
+            rs = stmt.executeQuery();
+            bound = mapper.bind(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            close(rs, stmt, conn);
+            return Stream.empty();
+        }
+
+        RowSpliterator<T> rows = new RowSpliterator<>(conn, stmt, rs, bound);
+        return StreamSupport.stream(rows, false).onClose(rows::release);
+    }
+
+    private static void close(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null)
+                continue;
+            try {
+                resource.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Spliterator that advances the result set one row at a time and releases it once exhausted.
+     */
+    private static class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final RowMapper.Bound<T> mapper;
+        private boolean isReleased = false;
+
+        private RowSpliterator(Connection conn, PreparedStatement stmt, ResultSet rs, RowMapper.Bound<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (isReleased)
+                return false;
+            T row;
+            try {
+                if (!rs.next()) {
+                    release();
+                    return false;
+                }
+                row = mapper.map(rs);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                release();
+                return false;
+            }
+            action.accept(row);
+            return true;
+        }
+
+        private void release() {
+            if (isReleased)
+                return;
+            isReleased = true;
+            close(rs, stmt, conn);
+        }
+    }
+}
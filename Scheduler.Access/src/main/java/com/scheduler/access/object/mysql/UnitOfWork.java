@@ -0,0 +1,78 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.connection.MySqlConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Groups writes made through several DAOs into one transaction. A unit of work holds one connection from the pool with
+ * auto-commit turned off; DAO methods that take a unit of work run their statements on that connection. Nothing is
+ * made permanent until {@link #commit()} is called, and closing a unit of work that was not committed rolls every
+ * statement in it back.
+ * <p>
+ * Usage, with try-with-resources:
+ * <pre>
+ * try (UnitOfWork work = new UnitOfWork()) {
+ *     appointmentDAO.deleteByCustomerId(work, id);
+ *     customerDAO.delete(work, id);
+ *     work.commit();
+ * }
+ * </pre>
+ */
+public class UnitOfWork implements AutoCloseable {
+    private final Connection conn;
+    private boolean isCommitted = false;
+
+    /**
+     * Constructor: Borrows a connection from the pool and starts a transaction on it.
+     *
+     * @throws SQLException if a connection could not be borrowed or the transaction could not be started
+     */
+    public UnitOfWork() throws SQLException {
+        conn = MySqlConnection.getInstance().getConnection();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Prepares a statement on the unit of work's connection. The caller must close the statement.
+     *
+     * @param query SQL statement
+     * @return prepared statement that runs within the transaction
+     * @throws SQLException if the statement could not be prepared
+     */
+    PreparedStatement prepareStatement(String query) throws SQLException {
+        return conn.prepareStatement(query);
+    }
+
+    /**
+     * Makes every statement run in the unit of work permanent.
+     *
+     * @throws SQLException if the transaction could not be committed; it is rolled back when the unit is closed
+     */
+    public void commit() throws SQLException {
+        conn.commit();
+        isCommitted = true;
+    }
+
+    /**
+     * Rolls back the transaction if it was not committed, then returns the connection to the pool.
+     *
+     * @throws SQLException if the connection could not be returned
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!isCommitted)
+                conn.rollback();
+        } finally {
+            conn.close();
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.scheduler.access.object.mysql;
 
 import com.scheduler.access.connection.MySqlConnection;
-import com.scheduler.access.object.DAO;
+import com.scheduler.access.object.BatchResult;
+import com.scheduler.access.object.ChangeTrackingDAO;
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.access.object.TableVersion;
 import com.scheduler.common.model.User;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation class of the Data Access Object (DAO) interface to map the 'users' table rows in the SQL
  * Database to front-end 'User' Model objects, to perform CRUD operations.
  */
-public class UserDAO implements DAO<User> {
+public class UserDAO implements ChangeTrackingDAO<User> {
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO users (User_Name, Password, Create_Date, Created_By, Last_Update, Last_Updated_By) " +
+                    "VALUES (?, ?, current_timestamp(), ?, current_timestamp(), ?);";
+    private static final String UPDATE_QUERY =
+            "UPDATE users SET User_Name=?, Password=?, Last_Update=current_timestamp(), Last_Updated_By=? " +
+                    "WHERE User_ID=?;";
+    private static final String DELETE_QUERY = "DELETE FROM users WHERE User_ID=?;";
+
+    private static final AuditColumns AUDIT = new AuditColumns("users", "User_ID");
+
+    private static final RowMapper<User> MAPPER = UserRowMapper.INSTANCE;
 
     private final MySqlConnection mySqlConnection;
 
@@ -32,22 +50,12 @@ public class UserDAO implements DAO<User> {
     @Override
     public User read(int id) {
         User user = null;
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY = "SELECT * FROM users WHERE User_ID=?;";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        final String QUERY = "SELECT * FROM users WHERE User_ID=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setInt(1,id);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int innerId = rs.getInt("User_ID");
-                String username = rs.getString("User_Name");
-                String password = rs.getString("Password");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                user = new User(innerId, username, password, createDate, createdBy, lastUpdate, lastUpdatedBy);
-            }
+            user = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -62,22 +70,12 @@ public class UserDAO implements DAO<User> {
      */
     public User read(String username) {
         User user = null;
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY = "SELECT * FROM users WHERE User_Name=?;";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        final String QUERY = "SELECT * FROM users WHERE User_Name=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             stmt.setString(1, username);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("User_ID");
-                String innerUsername = rs.getString("User_Name");
-                String password = rs.getString("Password");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                user = new User(id, innerUsername, password, createDate, createdBy, lastUpdate, lastUpdatedBy);
-            }
+            user = MAPPER.mapOne(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -92,49 +90,109 @@ public class UserDAO implements DAO<User> {
     @Override
     public List<User> readAll() {
         List<User> users = new ArrayList<>();
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY = "SELECT * FROM users;";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        final String QUERY = "SELECT * FROM users;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("User_ID");
-                String username = rs.getString("User_Name");
-                String password = rs.getString("Password");
-                Timestamp createDate = rs.getTimestamp("Create_Date");
-                String createdBy = rs.getString("Created_By");
-                Timestamp lastUpdate = rs.getTimestamp("Last_Update");
-                String lastUpdatedBy = rs.getString("Last_Updated_By");
-                users.add(new User(id, username, password, createDate, createdBy, lastUpdate, lastUpdatedBy));
-            }
+            users = MAPPER.mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return users;
+    }
+
+    /**
+     * Read the row count and latest 'Last_Update' of the 'users' table, and how many rows were updated at or after
+     * the given time.
+     *
+     * @param since earliest 'Last_Update' value to count, as read from the table
+     * @return TableVersion instance or <em>null</em> if it could not be read
+     */
+    @Override
+    public TableVersion readVersion(Timestamp since) {
+        try (Connection conn = mySqlConnection.getConnection()) {
+            return AUDIT.readVersion(conn, since);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Read all rows from the 'users' table created or updated at or after the given time.
+     *
+     * @param since earliest 'Last_Update' value to include, as read from the table
+     * @return List of User instances holding row data or empty ArrayList object if no rows were found.
+     */
+    @Override
+    public List<User> readChangedSince(Timestamp since) {
+        List<User> users = new ArrayList<>();
+        final String QUERY = "SELECT * FROM users WHERE Last_Update>=?;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setTimestamp(1, since);
+            ResultSet rs = stmt.executeQuery();
+            users = MAPPER.mapAll(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return users;
     }
 
+    /**
+     * Read the 'User_ID' of every row in the 'users' table.
+     *
+     * @return Set of 'User_ID' values or empty HashSet object if no rows were found.
+     */
+    @Override
+    public Set<Integer> readAllIds() {
+        Set<Integer> ids = new HashSet<>();
+        final String QUERY = "SELECT User_ID FROM users;";
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                ids.add(rs.getInt(1));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    /**
+     * Lazily read all rows from the 'users' table into User instances. Rows are fetched from the server in chunks as
+     * the stream is consumed. The stream should be closed if it is not read to the end.
+     *
+     * @return Stream of User model objects holding row data or an empty stream if the query failed.
+     */
+    @Override
+    public Stream<User> stream() {
+        final String QUERY = "SELECT * FROM users;";
+        return RowStreams.stream(mySqlConnection, QUERY, MAPPER);
+    }
+
     /**
      * Create a new row in the 'users' table.
      *
      * @param user User instance with required column data
-     * @return User instance from newly created table row or null if not successful
+     * @return User instance from newly created table row or <em>null</em> if row creation was not successful
      */
     @Override
     public User create(User user) {
-        Connection conn = mySqlConnection.getConnection();
-        try {
-            final String QUERY =
-                    "INSERT INTO users (User_Name, Password, Create_Date, Created_By, Last_Update, Last_Updated_By) " +
-                            "VALUES (?, ?, current_timestamp(), \"script\", current_timestamp(), \"script\");";
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPassword());
+        User created = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, user);
             stmt.executeUpdate();
-            user = read(user.getUsername());
+            ResultSet keys = stmt.getGeneratedKeys();
+            if (keys.next()) {
+                int id = keys.getInt(1);
+                created = created(user, id, AUDIT.read(conn, id));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return user;
+        return created;
     }
 
     /**
@@ -145,20 +203,16 @@ public class UserDAO implements DAO<User> {
      */
     @Override
     public User update(User user) {
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "UPDATE users SET User_Name=?, Password=?, Last_Update=current_timestamp(), " +
-                "Last_Updated_By=\"script\" WHERE User_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPassword());
-            stmt.setInt(3, user.getId());
-            int successfulRows = stmt.executeUpdate();
-            user = (successfulRows == 0) ? null : read(user.getUsername());
+        User updated = null;
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_QUERY)) {
+            bindUpdate(stmt, user);
+            if (stmt.executeUpdate() > 0)
+                updated = updated(user, AUDIT.read(conn, user.getId()));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return user;
+        return updated;
     }
 
     /**
@@ -170,10 +224,8 @@ public class UserDAO implements DAO<User> {
     @Override
     public boolean delete(int id) {
         boolean rowIsDeleted = false;
-        Connection conn = mySqlConnection.getConnection();
-        final String QUERY = "DELETE FROM users WHERE User_ID=?;";
-        try {
-            PreparedStatement stmt = conn.prepareStatement(QUERY);
+        try (Connection conn = mySqlConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_QUERY)) {
             stmt.setInt(1, id);
             rowIsDeleted = stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -181,4 +233,64 @@ public class UserDAO implements DAO<User> {
         }
         return rowIsDeleted;
     }
+
+    /**
+     * Create new rows in the 'users' table, in batches within one transaction.
+     *
+     * @param users User instances with required column data
+     * @return newly created User instances, and the given instances that could not be created
+     */
+    @Override
+    public BatchResult<User> createAll(List<User> users) {
+        return BatchWriter.execute(mySqlConnection, INSERT_QUERY, true, users, UserDAO::bindInsert, AUDIT,
+                User::getId, UserDAO::created);
+    }
+
+    /**
+     * Update rows in the 'users' table, in batches within one transaction.
+     *
+     * @param users User instances with required column data
+     * @return updated User instances, and the given instances that could not be updated
+     */
+    @Override
+    public BatchResult<User> updateAll(List<User> users) {
+        return BatchWriter.execute(mySqlConnection, UPDATE_QUERY, false, users, UserDAO::bindUpdate, AUDIT,
+                User::getId, (row, id, stamps) -> updated(row, stamps));
+    }
+
+    /**
+     * Delete rows in the 'users' table, in batches within one transaction.
+     *
+     * @param ids 'User_ID' column values (unique identifiers)
+     * @return ids of the deleted rows, and ids of the rows that could not be deleted
+     */
+    @Override
+    public BatchResult<Integer> deleteAll(List<Integer> ids) {
+        return BatchWriter.execute(mySqlConnection, DELETE_QUERY, false, ids,
+                (stmt, id) -> stmt.setInt(1, id), (id, key) -> id);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, User user) throws SQLException {
+        stmt.setString(1, user.getUsername());
+        stmt.setString(2, user.getPassword());
+        stmt.setString(3, AuditColumns.USER);
+        stmt.setString(4, AuditColumns.USER);
+    }
+
+    private static User created(User user, int id, AuditColumns.Stamps stamps) {
+        return new User(id, user.getUsername(), user.getPassword(), stamps.createDate(), AuditColumns.USER,
+                stamps.lastUpdate(), AuditColumns.USER);
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, User user) throws SQLException {
+        stmt.setString(1, user.getUsername());
+        stmt.setString(2, user.getPassword());
+        stmt.setString(3, AuditColumns.USER);
+        stmt.setInt(4, user.getId());
+    }
+
+    private static User updated(User user, AuditColumns.Stamps stamps) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getCreateDate(),
+                user.getCreatedBy(), stamps.lastUpdate(), AuditColumns.USER);
+    }
 }
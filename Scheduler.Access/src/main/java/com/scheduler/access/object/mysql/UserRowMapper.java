@@ -0,0 +1,24 @@
+package com.scheduler.access.object.mysql;
+
+import com.scheduler.access.object.RowMapper;
+import com.scheduler.common.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the 'users' table to User Model objects.
+ */
+final class UserRowMapper extends RowMapper<User> {
+    static final UserRowMapper INSTANCE = new UserRowMapper();
+
+    private UserRowMapper() {
+        super("User_ID", "User_Name", "Password", "Create_Date", "Created_By", "Last_Update", "Last_Updated_By");
+    }
+
+    @Override
+    protected User map(ResultSet rs, int[] at) throws SQLException {
+        return new User(rs.getInt(at[0]), rs.getString(at[1]), rs.getString(at[2]), rs.getTimestamp(at[3]),
+                rs.getString(at[4]), rs.getTimestamp(at[5]), rs.getString(at[6]));
+    }
+}
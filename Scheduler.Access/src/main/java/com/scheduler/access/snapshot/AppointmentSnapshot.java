@@ -0,0 +1,238 @@
+package com.scheduler.access.snapshot;
+
+import com.scheduler.common.model.Appointment;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Copy of the 'appointments' table, with contact names, kept on disk so that the appointments can be set up at start
+ * up from the local disk instead of the database. Rows changed since the snapshot was written are read from the
+ * database afterwards, by 'Last_Update'.
+ * <p>
+ * The file is laid out by column rather than by row, and read through a memory-mapped buffer with bulk reads: a magic
+ * number, format version and row count; then a table of every distinct string, each as a byte length and UTF-8 bytes;
+ * then each column in turn as one fixed-width value per row. Ids are 4-byte ints. String columns hold 4-byte indexes
+ * into the string table, or -1 for <em>null</em>, so values repeated across rows such as types, locations and user
+ * names are stored once and shared once read. Timestamps are 8-byte epoch milliseconds of their local date time, or
+ * {@link Long#MIN_VALUE} for <em>null</em>, so that they read back the same in any time zone. A file of another format
+ * version, or one that cannot be parsed, is ignored.
+ */
+public class AppointmentSnapshot {
+    private static final int MAGIC = 0x53434841;
+    private static final int FORMAT_VERSION = 1;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    /** Bytes each row takes across the columns: 11 int columns and 4 long columns. */
+    private static final int ROW_BYTES = 11 * Integer.BYTES + 4 * Long.BYTES;
+
+    private AppointmentSnapshot() {}
+
+    /**
+     * Gets the location of the snapshot file, next to the {@link ReferenceSnapshot} file.
+     * @return snapshot file path
+     */
+    public static Path defaultPath() {
+        return ReferenceSnapshot.defaultPath().resolveSibling("appointments.snapshot");
+    }
+
+    /**
+     * Reads the appointments held in a snapshot file.
+     *
+     * @param path snapshot file
+     * @return appointments with contact names set, or <em>null</em> if there is no file or it is not a readable
+     * snapshot
+     */
+    public static List<Appointment> read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION)
+                return null;
+            int rowCount = buffer.getInt();
+            if (!fits(buffer, rowCount, ROW_BYTES))
+                return null;
+
+            int stringCount = buffer.getInt();
+            if (!fits(buffer, stringCount, Integer.BYTES))
+                return null;
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < strings.length; i++) {
+                int length = buffer.getInt();
+                if (!fits(buffer, length, 1))
+                    return null;
+                byte[] utf8 = new byte[length];
+                buffer.get(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            int[] ids = getInts(buffer, rowCount);
+            int[] customerIds = getInts(buffer, rowCount);
+            int[] userIds = getInts(buffer, rowCount);
+            int[] contactIds = getInts(buffer, rowCount);
+            int[] titles = getInts(buffer, rowCount);
+            int[] descriptions = getInts(buffer, rowCount);
+            int[] locations = getInts(buffer, rowCount);
+            int[] types = getInts(buffer, rowCount);
+            int[] createdBy = getInts(buffer, rowCount);
+            int[] lastUpdatedBy = getInts(buffer, rowCount);
+            int[] contactNames = getInts(buffer, rowCount);
+            long[] starts = getLongs(buffer, rowCount);
+            long[] ends = getLongs(buffer, rowCount);
+            long[] createDates = getLongs(buffer, rowCount);
+            long[] lastUpdates = getLongs(buffer, rowCount);
+
+            List<Appointment> appointments = new ArrayList<>(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                Appointment appointment = new Appointment(ids[row], string(strings, titles[row]),
+                        string(strings, descriptions[row]), string(strings, locations[row]),
+                        string(strings, types[row]), starts[row], ends[row],
+                        timestamp(createDates[row]), string(strings, createdBy[row]), timestamp(lastUpdates[row]),
+                        string(strings, lastUpdatedBy[row]), customerIds[row], userIds[row], contactIds[row]);
+                appointment.setContactName(string(strings, contactNames[row]));
+                appointments.add(appointment);
+            }
+            return appointments;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Writes appointments to a snapshot file, replacing any snapshot already there. The file is written under a
+     * temporary name and then moved into place, so a reader never sees a partly written snapshot.
+     *
+     * @param path snapshot file
+     * @param appointments appointments to write, with contact names set
+     * @return true if the snapshot was written, false if not
+     */
+    public static boolean write(Path path, List<Appointment> appointments) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Function<String, Integer> indexOf = value -> (value == null) ? -1 :
+                stringIndexes.computeIfAbsent(value, added -> {
+                    strings.add(added);
+                    return strings.size() - 1;
+                });
+
+        int rowCount = appointments.size();
+        int[][] stringColumns = new int[7][rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            Appointment appointment = appointments.get(row);
+            stringColumns[0][row] = indexOf.apply(appointment.getTitle());
+            stringColumns[1][row] = indexOf.apply(appointment.getDescription());
+            stringColumns[2][row] = indexOf.apply(appointment.getLocation());
+            stringColumns[3][row] = indexOf.apply(appointment.getType());
+            stringColumns[4][row] = indexOf.apply(appointment.getCreatedBy());
+            stringColumns[5][row] = indexOf.apply(appointment.getLastUpdatedBy());
+            stringColumns[6][row] = indexOf.apply(appointment.getContactName());
+        }
+
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null)
+                Files.createDirectories(parent);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(rowCount);
+                out.writeInt(strings.size());
+                for (String value : strings) {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+                for (Appointment appointment : appointments)
+                    out.writeInt(appointment.getId());
+                for (Appointment appointment : appointments)
+                    out.writeInt(appointment.getCustomerId());
+                for (Appointment appointment : appointments)
+                    out.writeInt(appointment.getUserId());
+                for (Appointment appointment : appointments)
+                    out.writeInt(appointment.getContactId());
+                for (int[] column : stringColumns)
+                    for (int index : column)
+                        out.writeInt(index);
+                for (Appointment appointment : appointments)
+                    out.writeLong(appointment.getStartEpochMillis());
+                for (Appointment appointment : appointments)
+                    out.writeLong(appointment.getEndEpochMillis());
+                for (Appointment appointment : appointments)
+                    out.writeLong(epochMillis(appointment.getCreateDate()));
+                for (Appointment appointment : appointments)
+                    out.writeLong(epochMillis(appointment.getLastUpdate()));
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Left for the next write to replace.
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Checks that a count read from the file is not negative and that the buffer holds at least that many items of the
+     * given size, so a corrupt count is caught before anything is allocated for it.
+     */
+    private static boolean fits(ByteBuffer buffer, int count, int itemBytes) {
+        return count >= 0 && (long) count * itemBytes <= buffer.remaining();
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] getLongs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static String string(String[] strings, int index) {
+        return (index < 0) ? null : strings[index];
+    }
+
+    private static long epochMillis(Timestamp timestamp) {
+        if (timestamp == null)
+            return NULL_TIMESTAMP;
+        LocalDateTime local = timestamp.toLocalDateTime();
+        return local.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static Timestamp timestamp(long epochMillis) {
+        if (epochMillis == NULL_TIMESTAMP)
+            return null;
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,249 @@
+package com.scheduler.access.snapshot;
+
+import com.scheduler.common.model.Contact;
+import com.scheduler.common.model.Country;
+import com.scheduler.common.model.Division;
+import com.scheduler.common.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copy of the reference tables ('countries', 'first_level_divisions', 'contacts' and 'users') kept on disk, so that the
+ * services holding them can be set up at start up without reading the database. The snapshot records the
+ * {@link ReferenceVersion} of the database it was read from, which is compared against a fresh probe to tell whether it
+ * is out of date.
+ * <p>
+ * User passwords are never written; users read from a snapshot have a <em>null</em> password.
+ * <p>
+ * The file is a compact binary format, read through a memory-mapped buffer: a magic number and format version,
+ * followed by the reference version and then each table as a row count and its rows. Strings are written as a byte
+ * length and UTF-8 bytes, with a length of -1 for <em>null</em>; timestamps as the epoch second and nanosecond of
+ * their local date time, so that they read back the same in any time zone. A file of another format version, or one
+ * that cannot be parsed, is ignored.
+ */
+public class ReferenceSnapshot {
+    private static final int MAGIC = 0x53434852;
+    private static final int FORMAT_VERSION = 1;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private final ReferenceVersion version;
+    private final List<Country> countries;
+    private final List<Division> divisions;
+    private final List<Contact> contacts;
+    private final List<User> users;
+
+    /**
+     * Constructor: Sets the tables held by the snapshot and the version of the database they were read from.
+     *
+     * @param version version of the database, probed before the tables were read
+     * @param countries rows of the 'countries' table
+     * @param divisions rows of the 'first_level_divisions' table
+     * @param contacts rows of the 'contacts' table
+     * @param users rows of the 'users' table; passwords are not kept
+     */
+    public ReferenceSnapshot(ReferenceVersion version, List<Country> countries, List<Division> divisions,
+                             List<Contact> contacts, List<User> users) {
+        this.version = version;
+        this.countries = countries;
+        this.divisions = divisions;
+        this.contacts = contacts;
+        this.users = users;
+    }
+
+    public ReferenceVersion getVersion() { return version; }
+    public List<Country> getCountries() { return countries; }
+    public List<Division> getDivisions() { return divisions; }
+    public List<Contact> getContacts() { return contacts; }
+    public List<User> getUsers() { return users; }
+
+    /**
+     * Gets the location of the snapshot file, from the 'MYSQL_SCHEDULER_SNAPSHOT_PATH' environment variable, or
+     * '.scheduler/reference.snapshot' in the user's home directory if it is not set.
+     * @return snapshot file path
+     */
+    public static Path defaultPath() {
+        String path = System.getenv("MYSQL_SCHEDULER_SNAPSHOT_PATH");
+        return (path == null || path.isBlank())
+                ? Paths.get(System.getProperty("user.home"), ".scheduler", "reference.snapshot")
+                : Paths.get(path.trim());
+    }
+
+    /**
+     * Reads a snapshot from a file.
+     *
+     * @param path snapshot file
+     * @return snapshot read, or <em>null</em> if there is no file or it is not a readable snapshot
+     */
+    public static ReferenceSnapshot read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION)
+                return null;
+            ReferenceVersion version = new ReferenceVersion(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                    buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+
+            List<Country> countries = new ArrayList<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+                countries.add(new Country(buffer.getInt(), getString(buffer), getTimestamp(buffer),
+                        getString(buffer), getTimestamp(buffer), getString(buffer)));
+            List<Division> divisions = new ArrayList<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+                divisions.add(new Division(buffer.getInt(), getString(buffer), getTimestamp(buffer),
+                        getString(buffer), getTimestamp(buffer), getString(buffer), buffer.getInt()));
+            List<Contact> contacts = new ArrayList<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+                contacts.add(new Contact(buffer.getInt(), getString(buffer), getString(buffer)));
+            List<User> users = new ArrayList<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+                users.add(new User(buffer.getInt(), getString(buffer), null, getTimestamp(buffer),
+                        getString(buffer), getTimestamp(buffer), getString(buffer)));
+            return new ReferenceSnapshot(version, countries, divisions, contacts, users);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot to a file, replacing any snapshot already there. The file is written under a temporary name
+     * and then moved into place, so a reader never sees a partly written snapshot.
+     *
+     * @param path snapshot file
+     * @return true if the snapshot was written, false if not
+     */
+    public boolean write(Path path) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(version.countries());
+            out.writeLong(version.countriesUpdatedAt());
+            out.writeLong(version.divisions());
+            out.writeLong(version.divisionsUpdatedAt());
+            out.writeLong(version.contacts());
+            out.writeLong(version.contactsChecksum());
+            out.writeLong(version.users());
+            out.writeLong(version.usersUpdatedAt());
+
+            out.writeInt(countries.size());
+            for (Country country : countries) {
+                out.writeInt(country.getId());
+                putString(out, country.getName());
+                putTimestamp(out, country.getCreateDate());
+                putString(out, country.getCreatedBy());
+                putTimestamp(out, country.getLastUpdate());
+                putString(out, country.getLastUpdatedBy());
+            }
+            out.writeInt(divisions.size());
+            for (Division division : divisions) {
+                out.writeInt(division.getId());
+                putString(out, division.getName());
+                putTimestamp(out, division.getCreateDate());
+                putString(out, division.getCreatedBy());
+                putTimestamp(out, division.getLastUpdate());
+                putString(out, division.getLastUpdatedBy());
+                out.writeInt(division.getCountryId());
+            }
+            out.writeInt(contacts.size());
+            for (Contact contact : contacts) {
+                out.writeInt(contact.getId());
+                putString(out, contact.getName());
+                putString(out, contact.getEmail());
+            }
+            out.writeInt(users.size());
+            for (User user : users) {
+                out.writeInt(user.getId());
+                putString(out, user.getUsername());
+                putTimestamp(out, user.getCreateDate());
+                putString(out, user.getCreatedBy());
+                putTimestamp(out, user.getLastUpdate());
+                putString(out, user.getLastUpdatedBy());
+            }
+            out.flush();
+
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null)
+                Files.createDirectories(parent);
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Left for the next write to replace.
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Converts a 'Last_Update' value to the form held by {@link ReferenceVersion}.
+     *
+     * @param timestamp value read from the database, or <em>null</em>
+     * @return epoch second of the local date time, or {@link Long#MIN_VALUE} if <em>null</em>
+     */
+    public static long toEpochSecond(Timestamp timestamp) {
+        return (timestamp == null) ? NULL_TIMESTAMP : timestamp.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0)
+            return null;
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static Timestamp getTimestamp(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return (seconds == NULL_TIMESTAMP) ? null :
+                Timestamp.valueOf(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+    }
+
+    private static void putTimestamp(DataOutputStream out, Timestamp value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_TIMESTAMP);
+            out.writeInt(0);
+            return;
+        }
+        LocalDateTime local = value.toLocalDateTime();
+        out.writeLong(local.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(local.getNano());
+    }
+}
@@ -0,0 +1,22 @@
+package com.scheduler.access.snapshot;
+
+/**
+ * Cheap fingerprint of the reference tables, used to tell whether a {@link ReferenceSnapshot} still matches the
+ * database. Each table with audit columns is described by its row count and latest 'Last_Update'; the 'contacts' table
+ * has no audit columns, so it is described by its row count and a checksum of its rows instead.
+ * <p>
+ * 'Last_Update' values are held as seconds since the epoch of the stored local date time, or {@link Long#MIN_VALUE}
+ * for an empty table, so that they compare equal regardless of the time zone of the workstation.
+ *
+ * @param countries row count of the 'countries' table
+ * @param countriesUpdatedAt latest 'Last_Update' in the 'countries' table
+ * @param divisions row count of the 'first_level_divisions' table
+ * @param divisionsUpdatedAt latest 'Last_Update' in the 'first_level_divisions' table
+ * @param contacts row count of the 'contacts' table
+ * @param contactsChecksum checksum of every row in the 'contacts' table
+ * @param users row count of the 'users' table
+ * @param usersUpdatedAt latest 'Last_Update' in the 'users' table
+ */
+public record ReferenceVersion(long countries, long countriesUpdatedAt, long divisions, long divisionsUpdatedAt,
+                               long contacts, long contactsChecksum, long users, long usersUpdatedAt) {
+}
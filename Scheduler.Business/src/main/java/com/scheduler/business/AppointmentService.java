@@ -1,18 +1,22 @@
 package com.scheduler.business;
 
+import com.scheduler.access.object.BatchResult;
 import com.scheduler.access.object.mysql.AppointmentDAO;
 import com.scheduler.common.model.Appointment;
 import com.scheduler.common.util.AppointmentTimeSpan;
 
 import org.javatuples.Pair;
 
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,23 +26,53 @@ import java.util.stream.Collectors;
  * @author Dillon Christensen
  */
 public class AppointmentService {
+    /** Order of the appointments within each secondary index group: by start time, then by ID. */
+    private static final Comparator<Appointment> BY_START = Comparator.comparingLong(Appointment::getStartEpochMillis)
+            .thenComparingInt(Appointment::getId);
+
     private static volatile AppointmentService instance = null;
     private final ContactService contactService;
     private final AppointmentDAO dao;
-    private final List<Appointment> appointments;
+    private final IndexedList<Appointment> appointments;
+    private final GroupIndex<Appointment> byCustomer;
+    private final GroupIndex<Appointment> byContact;
+    private final GroupIndex<Appointment> byUser;
+    private final IntervalIndex<Appointment> customerIntervals;
+    private final IntervalIndex<Appointment> contactIntervals;
+    private final StartTimeIndex<Appointment> byStartTime;
+    private final LocalChangeLog localChanges = new LocalChangeLog();
 
     /**
-     * Constructor: Sets up DAO to create a list of appointments, pulled from the database. Sets up an instance of the
-     * Contact Service. Populates fields that help with front end functionality.
+     * Constructor: Sets up DAO to create a list of appointments, pulled from the database with their contact names in
+     * a single query. Sets up an instance of the Contact Service. Populates fields that help with front end
+     * functionality.
      *
      * @see com.scheduler.business.ContactService Contact Service
      */
     private AppointmentService() {
+        this(new AppointmentDAO().readAllWithContactNames());
+    }
+
+    /**
+     * Constructor: Sets up the list of appointments from rows already read from the database with their contact
+     * names, indexed by ID and grouped by customer, contact and user, each group sorted by start time. The time ranges
+     * of each customer's and each contact's appointments are also held in interval trees, for overlap checks, and every
+     * appointment is sorted by start time, for time window queries. Sets up DAO and an instance of the Contact Service.
+     *
+     * @param appointments appointments read from the database, with contact names set
+     */
+    private AppointmentService(List<Appointment> appointments) {
         contactService = ContactService.getInstance();
         dao = new AppointmentDAO();
-        appointments = dao.readAll();
-        appointments.forEach(this::populateContactNameField);
-        appointments.forEach(this::populateDateTimeFields);
+        this.appointments = new IndexedList<>(appointments, Appointment::getId);
+        byCustomer = this.appointments.addGroupIndex(Appointment::getCustomerId, BY_START);
+        byContact = this.appointments.addGroupIndex(Appointment::getContactId, BY_START);
+        byUser = this.appointments.addGroupIndex(Appointment::getUserId, BY_START);
+        customerIntervals = this.appointments.addIntervalIndex(Appointment::getCustomerId,
+                Appointment::getStartEpochMillis, Appointment::getEndEpochMillis);
+        contactIntervals = this.appointments.addIntervalIndex(Appointment::getContactId,
+                Appointment::getStartEpochMillis, Appointment::getEndEpochMillis);
+        byStartTime = this.appointments.addStartTimeIndex(Appointment::getStartEpochMillis);
     }
 
     /**
@@ -57,6 +91,30 @@ public class AppointmentService {
         return instance;
     }
 
+    /**
+     * Creates the singleton instance from appointments already read from the database, if it was not created already.
+     *
+     * @param appointments appointments read from the database or a snapshot, with contact names set
+     * @see ServiceBootstrap
+     * @see AppointmentSnapshots
+     */
+    static void initialize(List<Appointment> appointments) {
+        if (instance == null) {
+            synchronized (AppointmentService.class) {
+                if (instance == null) {
+                    instance = new AppointmentService(appointments);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the singleton instance has been created, without creating it.
+     * @return true if the instance exists
+     * @see AppointmentSnapshots
+     */
+    static boolean isCreated() { return instance != null; }
+
     /**
      * Getter for the appointments list.
      * @return Appointments list
@@ -70,10 +128,7 @@ public class AppointmentService {
      * @return Matching appointment or <code>null</code> if no matching appointment was found
      */
     public Appointment getAppointmentById(int id) {
-        List<Appointment> filtered = appointments.stream()
-                .filter(appointment -> appointment.getId() == id)
-                .toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        return appointments.getById(id);
     }
 
     /**
@@ -87,26 +142,26 @@ public class AppointmentService {
         Appointment created = dao.create(appointment);
         if (created != null) {
             populateContactNameField(created);
-            populateDateTimeFields(created);
             appointments.add(created);
+            localChanges.record(created.getId());
         }
         return created;
     }
 
     /**
      * Delete appointment from database. If the appointment is successfully deleted, it is removed from the list of
-     * appointments in the CustomerService instance.
+     * appointments in the AppointmentService instance.
      * @param id unique identifier used to query appointment
-     * @return boolean value; true if deletion was successful
+     * @return deleted appointment or <code>null</code> if deletion failed
      * @see #appointments
      */
     public Appointment deleteAppointment(int id) {
         Appointment toDelete = null;
         boolean wasDeleted = dao.delete(id);
         if (wasDeleted) {
-            toDelete = appointments.stream()
-                    .filter(a -> a.getId() == id)
-                    .toList().get(0);
+            toDelete = appointments.getById(id);
+            appointments.remove(toDelete);
+            localChanges.record(id);
         }
         return toDelete;
     }
@@ -122,16 +177,47 @@ public class AppointmentService {
         Appointment updated = dao.update(appointment);
         if (updated != null) {
             populateContactNameField(updated);
-            populateDateTimeFields(updated);
-            Appointment toRemove = appointments.stream()
-                    .filter(a -> a.getId() == updated.getId())
-                    .toList().get(0);
-            appointments.remove(toRemove);
+            appointments.remove(appointments.getById(updated.getId()));
             appointments.add(updated);
+            localChanges.record(updated.getId());
         }
         return updated;
     }
 
+    /**
+     * Create new appointments in the database as one batch. Appointments created successfully have their front end
+     * fields populated together and are added to the internal list of appointments.
+     * @param toCreate Appointments to be created on Database
+     * @return list of newly created appointments and list of appointments that failed to be created
+     * @see #appointments
+     */
+    public Pair<List<Appointment>, List<Appointment>> createAppointments(List<Appointment> toCreate) {
+        BatchResult<Appointment> result = dao.createAll(toCreate);
+        populateFields(result.getSucceeded());
+        appointments.addAll(result.getSucceeded());
+        result.getSucceeded().forEach(a -> localChanges.record(a.getId()));
+        return new Pair<>(result.getSucceeded(), result.getFailed());
+    }
+
+    /**
+     * Update appointments in the database as one batch. Appointments updated successfully have their front end fields
+     * populated together and replace their defunct versions in the internal list of appointments.
+     * @param toUpdate appointments with updated values and same ID fields as existing appointments
+     * @return list of updated appointments and list of appointments that failed to update
+     * @see #appointments
+     */
+    public Pair<List<Appointment>, List<Appointment>> updateAppointments(List<Appointment> toUpdate) {
+        BatchResult<Appointment> result = dao.updateAll(toUpdate);
+        populateFields(result.getSucceeded());
+        Set<Integer> updatedIds = result.getSucceeded().stream()
+                .map(Appointment::getId)
+                .collect(Collectors.toSet());
+        appointments.removeIf(a -> updatedIds.contains(a.getId()));
+        appointments.addAll(result.getSucceeded());
+        updatedIds.forEach(localChanges::record);
+        return new Pair<>(result.getSucceeded(), result.getFailed());
+    }
+
     /**
      * Sets the given appointment's {@link com.scheduler.common.model.Appointment#contactName contactName} with the
      * name associated with the existing {@link com.scheduler.common.model.Appointment#contactId contactId}.
@@ -143,30 +229,20 @@ public class AppointmentService {
     }
 
     /**
-     * Sets the given appointment's {@link com.scheduler.common.model.Appointment#startDefault startDefault} and
-     * {@link com.scheduler.common.model.Appointment#endDefault endDefault} with
-     * {@link ZonedDateTime} objects, created from the appointment's
-     * {@link com.scheduler.common.model.Appointment#start start} and
-     * {@link com.scheduler.common.model.Appointment#end end}. Time zone set to {@link ZoneId#systemDefault()}.
-     * @param appointment appointment to be modified
+     * Sets each given appointment's {@link com.scheduler.common.model.Appointment#contactName contactName} field.
+     * Contact names are looked up once for the whole list, rather than once per appointment. Zoned start and end
+     * times need no populating, as each appointment derives them from its epoch times when first asked for.
+     * @param toPopulate appointments to be modified
      */
-    public void populateDateTimeFields(Appointment appointment) {
-        LocalDateTime start = appointment.getStart().toLocalDateTime();
-        LocalDateTime end = appointment.getEnd().toLocalDateTime();
-
-        ZonedDateTime startUTC = ZonedDateTime.of(start, ZoneId.of("UTC"));
-        ZonedDateTime endUTC = ZonedDateTime.of(end, ZoneId.of("UTC"));
-
-        ZonedDateTime startDefault = startUTC.withZoneSameInstant(ZoneId.systemDefault());
-        ZonedDateTime endDefault = endUTC.withZoneSameInstant(ZoneId.systemDefault());
-
-        appointment.setStartDefault(startDefault);
-        appointment.setEndDefault(endDefault);
+    public void populateFields(List<Appointment> toPopulate) {
+        Map<Integer, String> contactNames = contactService.getNamesById();
+        toPopulate.forEach(appointment -> appointment.setContactName(contactNames.get(appointment.getContactId())));
     }
 
     /**
      * Delete all appointments with a {@link com.scheduler.common.model.Appointment#customerId customerId} of the given
-     * customerId parameter.
+     * customerId parameter. The deletions are sent to the database as one batch. Successfully deleted appointments are
+     * removed from the list of appointments in the AppointmentService instance.
      * @param customerId value of {@link com.scheduler.common.model.Appointment#customerId customerId} of appointments
      *                   to be deleted.
      * @return list of appointments successfully deleted and list of appointments that failed to delete
@@ -175,59 +251,102 @@ public class AppointmentService {
         List<Appointment> allDeleted = new ArrayList<>();
         List<Appointment> allNotDeleted = new ArrayList<>();
 
-        List<Appointment> toDeleteAll = appointments.stream()
-                .filter(a -> a.getCustomerId() == customerId)
-                .toList();
+        List<Appointment> toDeleteAll = new ArrayList<>(byCustomer.get(customerId));
+
+        Set<Integer> deletedIds = new HashSet<>(dao.deleteAll(toDeleteAll.stream()
+                .map(Appointment::getId)
+                .toList()).getSucceeded());
 
         toDeleteAll.forEach(a -> {
-            Appointment deleted = deleteAppointment(a.getId());
-            if (deleted != null)
-                allDeleted.add(deleted);
+            if (deletedIds.contains(a.getId()))
+                allDeleted.add(a);
             else
                 allNotDeleted.add(a);
         });
+        appointments.removeIf(a -> deletedIds.contains(a.getId()));
+        deletedIds.forEach(localChanges::record);
         return new Pair<>(allDeleted, allNotDeleted);
     }
 
+    /**
+     * Removes every appointment of the given customer from the list of appointments in the AppointmentService
+     * instance, in a single pass, without touching the database. The appointments are found through the customer
+     * index. Used once the rows are already deleted.
+     * @param customerId value of {@link com.scheduler.common.model.Appointment#customerId customerId} of appointments
+     *                   to be removed.
+     * @return the removed appointments
+     * @see CustomerService#deleteCustomerWithAppointments(int)
+     */
+    List<Appointment> evictByCustomerId(int customerId) {
+        List<Appointment> evicted = new ArrayList<>(byCustomer.get(customerId));
+        if (!evicted.isEmpty())
+            appointments.removeIf(a -> a.getCustomerId() == customerId);
+        evicted.forEach(a -> localChanges.record(a.getId()));
+        return evicted;
+    }
+
     /**
      * Gets a list of appointments, filtered by an {@link com.scheduler.common.util.AppointmentTimeSpan} instance amount
-     * of time after the current time.
+     * of time after the given current time. The time window is read from the start time index, so appointments outside
+     * of it are never visited.
      * @param span the amount of time after now, to filter the appointments
-     * @return the filtered appointments or all appointments if the
+     * @param now current time, read once by the caller so that every window it asks for ends at the same point
+     * @return the filtered appointments, ordered by start time, or all appointments if the
      * {@link com.scheduler.common.util.AppointmentTimeSpan} value is not accounted for
      */
-    public List<Appointment> getAppointmentsByTimeSpan(AppointmentTimeSpan span) {
-        ZonedDateTime monthAfter = ZonedDateTime.now().plusMonths(1);
-        ZonedDateTime weekAfter = ZonedDateTime.now().plusWeeks(1);
-        ZonedDateTime now = ZonedDateTime.now();
+    public List<Appointment> getAppointmentsByTimeSpan(AppointmentTimeSpan span, ZonedDateTime now) {
         List<Appointment> filtered;
 
         switch (span) {
-            case MONTH -> filtered = appointments.stream()
-                    .filter(appointment -> appointment.getStartDefault().isBefore(monthAfter) &&
-                            appointment.getStartDefault().isAfter(now))
-                    .collect(Collectors.toList());
-            case WEEK -> filtered = appointments.stream()
-                    .filter(appointment -> appointment.getStartDefault().isBefore(weekAfter) &&
-                            appointment.getStartDefault().isAfter(now))
-                    .collect(Collectors.toList());
+            case MONTH -> filtered = getAppointmentsStartingBetween(now, now.plusMonths(1));
+            case WEEK -> filtered = getAppointmentsStartingBetween(now, now.plusWeeks(1));
             default -> filtered = appointments;
         }
 
         return filtered;
     }
 
+    /**
+     * Gets the appointments that start within the given range, from a sub-map view of the start time index, in
+     * O(log n + k) for k appointments found.
+     * @param from earliest start time to include
+     * @param to start time to stop before
+     * @return appointments found, ordered by start time; returns empty if none are found
+     */
+    public List<Appointment> getAppointmentsStartingBetween(ZonedDateTime from, ZonedDateTime to) {
+        return byStartTime.getStartingBetween(from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli());
+    }
+
     /**
      * Get all appointments with a {@link com.scheduler.common.model.Appointment#customerId customerId} of the given
-     * customerId parameter.
+     * customerId parameter, from the customer index.
      * @param customerId value of {@link com.scheduler.common.model.Appointment#customerId customerId} of appointments
-     *                   to be deleted.
-     * @return list of appointments found; returns empty if none are found
+     *                   to be found.
+     * @return list of appointments found, ordered by start time; returns empty if none are found
      */
     public List<Appointment> getAppointmentsByCustomerId(int customerId) {
-        return appointments.stream()
-                .filter(a -> a.getCustomerId() == customerId)
-                .toList();
+        return new ArrayList<>(byCustomer.get(customerId));
+    }
+
+    /**
+     * Get all appointments with a {@link com.scheduler.common.model.Appointment#contactId contactId} of the given
+     * contactId parameter, from the contact index.
+     * @param contactId value of {@link com.scheduler.common.model.Appointment#contactId contactId} of appointments
+     *                  to be found.
+     * @return list of appointments found, ordered by start time; returns empty if none are found
+     */
+    public List<Appointment> getAppointmentsByContactId(int contactId) {
+        return new ArrayList<>(byContact.get(contactId));
+    }
+
+    /**
+     * Get all appointments with a {@link com.scheduler.common.model.Appointment#userId userId} of the given userId
+     * parameter, from the user index.
+     * @param userId value of {@link com.scheduler.common.model.Appointment#userId userId} of appointments to be found.
+     * @return list of appointments found, ordered by start time; returns empty if none are found
+     */
+    public List<Appointment> getAppointmentsByUserId(int userId) {
+        return new ArrayList<>(byUser.get(userId));
     }
 
     /**
@@ -249,31 +368,77 @@ public class AppointmentService {
      * @param endZDT end time of appointment to check
      * @param customerId unique identifier of customer to check for appointment conflicts
      * @return boolean value; true if customer has no conflicting appointments
+     * @see #checkForNoOverlapByCustomer(ZonedDateTime, ZonedDateTime, int, int)
      */
     public boolean checkForNoOverlapByCustomer(ZonedDateTime startZDT, ZonedDateTime endZDT, int customerId) {
-        AtomicBoolean overlaps = new AtomicBoolean(false);
-        List<Appointment> customerAppointments = getAppointmentsByCustomerId(customerId);
-        customerAppointments.forEach(a -> {
-            if (isOverlapping(startZDT, endZDT, a.getStartDefault(), a.getEndDefault()))
-                overlaps.set(true);
-        });
-        return !overlaps.get();
+        return checkForNoOverlapByCustomer(startZDT, endZDT, customerId, IntervalIndex.NO_ID);
     }
 
     /**
-     * Takes start and end times of two ranges  and checks whether the ranges overlap. Algorithm found on Stack Overflow:
-     * <p>
-     * <a href="https://stackoverflow.com/questions/17106670/how-to-check-a-timeperiod-is-overlapping-another-time-period-in-java">
-     *     Stack Overflow Answer</a>
-     *
-     * @param start1 start DateTime for range 1
-     * @param end1 end DateTime for range 1
-     * @param start2 start DateTime for range 2
-     * @param end2 end DateTime for range 2
-     * @return boolean value; true if ranges overlap
+     * Verifies that the range that fall within given {@link com.scheduler.common.model.Appointment} start and end times
+     * don't conflict with any appointments that the customer that is associated with the given customerId already has
+     * scheduled, other than the one being modified. Answered from the customer's interval tree, in O(log n) for a
+     * customer with n appointments.
+     * @param startZDT start time of appointment to check
+     * @param endZDT end time of appointment to check
+     * @param customerId unique identifier of customer to check for appointment conflicts
+     * @param excludedId unique identifier of the appointment being modified, which is not checked against, or -1 if
+     *                   the appointment is new
+     * @return boolean value; true if customer has no conflicting appointments
+     */
+    public boolean checkForNoOverlapByCustomer(ZonedDateTime startZDT, ZonedDateTime endZDT, int customerId,
+                                               int excludedId) {
+        return !customerIntervals.overlapsAny(customerId, startZDT.toInstant().toEpochMilli(),
+                endZDT.toInstant().toEpochMilli(), excludedId);
+    }
+
+    /**
+     * Verifies that the range that fall within given {@link com.scheduler.common.model.Appointment} start and end times
+     * don't conflict with any appointments that the contact that is associated with the given contactId already has
+     * scheduled, other than the one being modified. Answered from the contact's interval tree, in O(log n) for a
+     * contact with n appointments.
+     * @param startZDT start time of appointment to check
+     * @param endZDT end time of appointment to check
+     * @param contactId unique identifier of contact to check for appointment conflicts
+     * @param excludedId unique identifier of the appointment being modified, which is not checked against, or -1 if
+     *                   the appointment is new
+     * @return boolean value; true if contact has no conflicting appointments
+     */
+    public boolean checkForNoOverlapByContact(ZonedDateTime startZDT, ZonedDateTime endZDT, int contactId,
+                                              int excludedId) {
+        return !contactIntervals.overlapsAny(contactId, startZDT.toInstant().toEpochMilli(),
+                endZDT.toInstant().toEpochMilli(), excludedId);
+    }
+
+    /**
+     * Brings {@link #appointments} up to date with rows changed in the database since it was last read. Changed rows
+     * have their front end fields populated first. Appointments created, updated or deleted here since the rows were
+     * read are left as they are.
+     * @param changed rows created or updated since {@link #appointments} was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @param mark value of {@link #getLocalChangeMark()} taken before the rows were read
+     * @return true if {@link #appointments} was modified
+     * @see CacheRefresher
+     */
+    boolean applyChanges(List<Appointment> changed, Set<Integer> liveIds, long mark) {
+        populateFields(changed);
+        return CacheMerge.merge(appointments, changed, liveIds, localChanges.takeChangedAfter(mark),
+                Appointment::getLastUpdate);
+    }
+
+    /**
+     * Gets a mark of the appointments changed here so far, to be taken before reading changed rows from the database.
+     * @return mark to pass to {@link #applyChanges(List, Set, long)}
+     */
+    long getLocalChangeMark() {
+        return localChanges.mark();
+    }
+
+    /**
+     * Gets the latest 'Last_Update' value among {@link #appointments}.
+     * @return latest value, or <em>null</em> if there is none
      */
-    private boolean isOverlapping(ZonedDateTime start1, ZonedDateTime end1,
-                                  ZonedDateTime start2, ZonedDateTime end2) {
-        return start1.isBefore(end2) && start2.isBefore(end1);
+    Timestamp getLatestUpdate() {
+        return CacheMerge.latestUpdate(appointments, Appointment::getLastUpdate);
     }
 }
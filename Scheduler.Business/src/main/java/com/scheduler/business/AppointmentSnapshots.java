@@ -0,0 +1,50 @@
+package com.scheduler.business;
+
+import com.scheduler.access.snapshot.AppointmentSnapshot;
+import com.scheduler.common.model.Appointment;
+
+import java.util.List;
+
+/**
+ * Sets up the {@link AppointmentService} from the {@link AppointmentSnapshot} on disk, so that start up reads the
+ * appointments from the local disk instead of the database, and writes the snapshot back on shut down.
+ * <p>
+ * Rows changed in the database since the snapshot was written are brought in by the {@link CacheRefresher}, whose first
+ * refresh reads every appointment updated since the latest 'Last_Update' in the snapshot, along with the ids of every
+ * appointment so that rows deleted in the meantime are dropped.
+ *
+ * @see AppointmentSnapshot
+ */
+public class AppointmentSnapshots {
+
+    private AppointmentSnapshots() {}
+
+    /**
+     * Reads the snapshot and creates the Appointment service from it. Does nothing if the service was already created.
+     * The Contact service must be ready first.
+     *
+     * @return true if a snapshot was read, false if there is none and the service will read the database
+     */
+    public static boolean restore() {
+        if (AppointmentService.isCreated())
+            return false;
+        List<Appointment> appointments = AppointmentSnapshot.read(AppointmentSnapshot.defaultPath());
+        if (appointments == null)
+            return false;
+        AppointmentService.initialize(appointments);
+        return true;
+    }
+
+    /**
+     * Writes the Appointment service's appointments to the snapshot. Must be called on the thread that modifies the
+     * service's list. Does nothing if the service was never created.
+     *
+     * @return true if the snapshot was written, false if not
+     */
+    public static boolean save() {
+        if (!AppointmentService.isCreated())
+            return false;
+        return AppointmentSnapshot.write(AppointmentSnapshot.defaultPath(),
+                AppointmentService.getInstance().getAllAppointments());
+    }
+}
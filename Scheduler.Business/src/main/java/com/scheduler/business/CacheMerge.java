@@ -0,0 +1,96 @@
+package com.scheduler.business;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers for bringing a service's cached copy of a table up to date from the rows changed since it was read.
+ *
+ * @see CacheRefresher
+ */
+final class CacheMerge {
+
+    private CacheMerge() {}
+
+    /**
+     * Replaces cached rows with changed versions whose 'Last_Update' is the same as or later than their own, adds
+     * changed rows not yet cached, and removes cached rows whose ids are no longer in the table. 'Last_Update' only has
+     * whole seconds, so a row updated again within the same second has the same value, and is still taken as changed.
+     * Cached rows with a later 'Last_Update' than the changed version are kept. Changed rows whose ids are not in the
+     * table were deleted after they were read, and are left out.
+     * <p>
+     * Rows created, updated or deleted from this workstation after the refresh was read are left alone, whether cached
+     * or not: the refresh was read before they changed, and the next one will see them as they are now.
+     *
+     * @param cache cached rows, modified in place
+     * @param changed rows created or updated since the cache was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @param changedLocally ids of rows changed from this workstation since the refresh was read
+     * @param lastUpdate gets the 'Last_Update' value of a row
+     * @param <T> type of the cached rows
+     * @return true if the cache was modified
+     */
+    static <T> boolean merge(IndexedList<T> cache, List<T> changed, Set<Integer> liveIds, Set<Integer> changedLocally,
+                             Function<T, Timestamp> lastUpdate) {
+        Set<Integer> replacedIds = new HashSet<>();
+        List<T> added = new ArrayList<>();
+        for (T row : changed) {
+            int rowId = cache.idOf(row);
+            if (!liveIds.contains(rowId) || changedLocally.contains(rowId))
+                continue;
+            T cached = cache.getById(rowId);
+            if (cached == null || isNotEarlier(lastUpdate.apply(row), lastUpdate.apply(cached))) {
+                replacedIds.add(rowId);
+                added.add(row);
+            }
+        }
+
+        boolean isChanged = cache.removeIf(row -> {
+            int rowId = cache.idOf(row);
+            return replacedIds.contains(rowId) || (!liveIds.contains(rowId) && !changedLocally.contains(rowId));
+        });
+        return cache.addAll(added) || isChanged;
+    }
+
+    /**
+     * Brings the cache up to date as {@link #merge(IndexedList, List, Set, Set, Function)} does, for a table that is
+     * never changed from this workstation.
+     *
+     * @param cache cached rows, modified in place
+     * @param changed rows created or updated since the cache was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @param lastUpdate gets the 'Last_Update' value of a row
+     * @param <T> type of the cached rows
+     * @return true if the cache was modified
+     */
+    static <T> boolean merge(IndexedList<T> cache, List<T> changed, Set<Integer> liveIds,
+                             Function<T, Timestamp> lastUpdate) {
+        return merge(cache, changed, liveIds, Collections.emptySet(), lastUpdate);
+    }
+
+    /**
+     * Gets the latest 'Last_Update' value among the cached rows.
+     *
+     * @param cache cached rows
+     * @param lastUpdate gets the 'Last_Update' value of a row
+     * @param <T> type of the cached rows
+     * @return latest value, or <em>null</em> if no row has one
+     */
+    static <T> Timestamp latestUpdate(List<T> cache, Function<T, Timestamp> lastUpdate) {
+        return cache.stream()
+                .map(lastUpdate)
+                .filter(Objects::nonNull)
+                .max(Timestamp::compareTo)
+                .orElse(null);
+    }
+
+    private static boolean isNotEarlier(Timestamp changed, Timestamp cached) {
+        return changed != null && (cached == null || !changed.before(cached));
+    }
+}
@@ -0,0 +1,286 @@
+package com.scheduler.business;
+
+import com.scheduler.access.object.ChangeTrackingDAO;
+import com.scheduler.access.object.TableVersion;
+import com.scheduler.access.object.mysql.AppointmentDAO;
+import com.scheduler.access.object.mysql.ContactDAO;
+import com.scheduler.access.object.mysql.CountryDAO;
+import com.scheduler.access.object.mysql.CustomerDAO;
+import com.scheduler.access.object.mysql.DivisionDAO;
+import com.scheduler.access.object.mysql.ReferenceVersionProbe;
+import com.scheduler.access.object.mysql.UserDAO;
+import com.scheduler.access.snapshot.ReferenceVersion;
+import com.scheduler.common.model.Appointment;
+import com.scheduler.common.model.Contact;
+import com.scheduler.common.model.Country;
+import com.scheduler.common.model.Customer;
+import com.scheduler.common.model.Division;
+import com.scheduler.common.model.User;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Periodically brings the services' cached tables up to date with changes made from other workstations. Each refresh
+ * first reads a {@link TableVersion} of every table: its row count, latest 'Last_Update' and the number of rows
+ * updated at or after the latest 'Last_Update' already read. A table whose version shows no change is not read any
+ * further. Otherwise only the rows whose 'Last_Update' is at or after that watermark are read, and the ids of every
+ * row are read only if the row count shows that a row was deleted.
+ * <p>
+ * 'Last_Update' is filled in by the server, so the watermark is a value read back from the table rather than a time
+ * from this workstation's clock. It only has whole seconds, so rows updated in the same second as the watermark are
+ * read again by the next refresh; those already read at the watermark are left out, by id, and the rest are merged. A
+ * row updated twice by other workstations within the second of the watermark is only seen once its 'Last_Update'
+ * moves on.
+ * <p>
+ * The 'contacts' table has no 'Last_Update' column; it is read in full only when its row count or checksum, read by
+ * the {@link ReferenceVersionProbe}, has changed.
+ * <p>
+ * A version that could not be read, or an empty id set for a table that has rows, is taken as a failed read and skips
+ * that table until the next refresh.
+ * <p>
+ * The first refresh runs as soon as refreshing starts, which brings tables restored from a local snapshot up to date.
+ * Reads happen on a background thread. The merges are handed to the executor given to the constructor, so that the
+ * cached lists are only modified on the thread that reads them. Customers and appointments created, updated or
+ * deleted on this workstation between a read and its merge are left as they are, so a merge cannot bring back a row
+ * deleted after the read started. Once a refresh has modified any list, the listener given to the constructor is run
+ * on the same executor, after the merges.
+ */
+public class CacheRefresher {
+    private final long periodMillis;
+    private final Executor applyOn;
+    private final Runnable onChanged;
+    private final List<Table<?>> tables = new ArrayList<>();
+    private final ContactDAO contactDAO = new ContactDAO();
+    private final ReferenceVersionProbe versionProbe = new ReferenceVersionProbe();
+    private ReferenceVersion contactsVersion;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor: Sets up a refresher for every cached table. Services are created if they were not already.
+     *
+     * @param periodMillis time between the end of one refresh and the start of the next
+     * @param applyOn executor the merges into the services' lists are run on, e.g. the UI thread
+     * @param onChanged run on the apply executor after a refresh that modified any of the services' lists
+     */
+    public CacheRefresher(long periodMillis, Executor applyOn, Runnable onChanged) {
+        this.periodMillis = periodMillis;
+        this.applyOn = applyOn;
+        this.onChanged = onChanged;
+
+        CountryService countryService = CountryService.getInstance();
+        DivisionService divisionService = DivisionService.getInstance();
+        UserService userService = UserService.getInstance();
+        CustomerService customerService = CustomerService.getInstance();
+        AppointmentService appointmentService = AppointmentService.getInstance();
+
+        tables.add(new Table<>(new CountryDAO(), countryService.getLatestUpdate(), () -> 0,
+                (changed, liveIds, mark) -> countryService.applyChanges(changed, liveIds), Country::getLastUpdate,
+                Country::getId));
+        tables.add(new Table<>(new DivisionDAO(), divisionService.getLatestUpdate(), () -> 0,
+                (changed, liveIds, mark) -> divisionService.applyChanges(changed, liveIds), Division::getLastUpdate,
+                Division::getId));
+        tables.add(new Table<>(new UserDAO(), userService.getLatestUpdate(), () -> 0,
+                (changed, liveIds, mark) -> userService.applyChanges(changed, liveIds), User::getLastUpdate,
+                User::getId));
+        tables.add(new Table<>(new CustomerDAO(), customerService.getLatestUpdate(),
+                customerService::getLocalChangeMark, customerService::applyChanges, Customer::getLastUpdate,
+                Customer::getId));
+        tables.add(new Table<>(new AppointmentDAO(), appointmentService.getLatestUpdate(),
+                appointmentService::getLocalChangeMark, appointmentService::applyChanges, Appointment::getLastUpdate,
+                Appointment::getId));
+    }
+
+    /**
+     * Starts refreshing in the background, at once and then every {@link #periodMillis} milliseconds. Does nothing if
+     * already started.
+     */
+    public synchronized void start() {
+        if (scheduler != null)
+            return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops refreshing. A refresh already under way is finished.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Reads the changes to every cached table and hands the merges to the apply executor, followed by the change
+     * listener if any merge modified a list.
+     */
+    public void refresh() {
+        AtomicBoolean isChanged = new AtomicBoolean();
+        try {
+            tables.forEach(table -> table.refresh(isChanged));
+            refreshContacts();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+        applyOn.execute(() -> {
+            if (isChanged.get())
+                onChanged.run();
+        });
+    }
+
+    /**
+     * Reads the contacts in full if their row count or checksum has changed since they were last read, and hands them
+     * to the apply executor.
+     */
+    private void refreshContacts() {
+        ReferenceVersion version = versionProbe.read();
+        if (version == null || (contactsVersion != null && version.contacts() == contactsVersion.contacts() &&
+                version.contactsChecksum() == contactsVersion.contactsChecksum()))
+            return;
+        List<Contact> contacts = contactDAO.readAll();
+        if (contacts.isEmpty())
+            return;
+        contactsVersion = version;
+        applyOn.execute(() -> ContactService.getInstance().replaceAll(contacts));
+    }
+
+    /**
+     * Merges the rows read from one table into its service's list.
+     *
+     * @param <T> type of the table's rows
+     */
+    @FunctionalInterface
+    private interface Merge<T> {
+        /**
+         * Merges the rows read from the table into the service's list.
+         *
+         * @param changed rows created or updated since the list was last brought up to date
+         * @param liveIds ids of every row in the table as of the read
+         * @param mark the service's mark of local changes, taken before the rows were read
+         * @return true if the list was modified
+         */
+        boolean apply(List<T> changed, Set<Integer> liveIds, long mark);
+    }
+
+    /**
+     * One cached table, with the latest 'Last_Update' value read from it so far, the ids of the rows read at that
+     * value, and the ids of every row in the table as of the last refresh.
+     */
+    private class Table<T> {
+        private final ChangeTrackingDAO<T> dao;
+        private final LongSupplier mark;
+        private final Merge<T> apply;
+        private final Function<T, Timestamp> lastUpdate;
+        private final ToIntFunction<T> id;
+        private Timestamp watermark;
+        private Set<Integer> readAtWatermark = new HashSet<>();
+        private Set<Integer> knownIds;
+
+        private Table(ChangeTrackingDAO<T> dao, Timestamp watermark, LongSupplier mark, Merge<T> apply,
+                      Function<T, Timestamp> lastUpdate, ToIntFunction<T> id) {
+            this.dao = dao;
+            this.watermark = watermark;
+            this.mark = mark;
+            this.apply = apply;
+            this.lastUpdate = lastUpdate;
+            this.id = id;
+        }
+
+        private void refresh(AtomicBoolean isChanged) {
+            Timestamp since = (watermark == null) ? new Timestamp(0) : watermark;
+            TableVersion version = dao.readVersion(since);
+            if (version == null || isUnchanged(version))
+                return;
+
+            long readMark = mark.getAsLong();
+            List<T> changed = new ArrayList<>();
+            for (T row : dao.readChangedSince(since)) {
+                if (!readAtWatermark.contains(id.applyAsInt(row)) || !since.equals(lastUpdate.apply(row)))
+                    changed.add(row);
+            }
+            Set<Integer> liveIds = liveIds(version, changed);
+            if (liveIds == null)
+                return;
+
+            boolean isDeleted = knownIds != null && !liveIds.containsAll(knownIds);
+            knownIds = liveIds;
+            advanceWatermark(changed);
+            if (changed.isEmpty() && !isDeleted)
+                return;
+            applyOn.execute(() -> {
+                if (apply.apply(changed, liveIds, readMark))
+                    isChanged.set(true);
+            });
+        }
+
+        /**
+         * Checks whether the version shows the table as it was after the last refresh: no row updated since beyond
+         * those already read at the watermark, and no row added or deleted.
+         *
+         * @param version version of the table, read for the watermark
+         * @return true if there is nothing to read
+         */
+        private boolean isUnchanged(TableVersion version) {
+            return knownIds != null && version.rowCount() == knownIds.size() &&
+                    version.updatedSince() == readAtWatermark.size() &&
+                    Objects.equals(version.latestUpdate(), watermark);
+        }
+
+        /**
+         * Gets the ids of every row in the table. These are the known ids plus those of the changed rows, unless that
+         * does not add up to the row count, in which case a row was deleted and every id is read.
+         *
+         * @param version version of the table, read before the changed rows
+         * @param changed rows read since the watermark
+         * @return ids of every row, or <em>null</em> if they could not be read
+         */
+        private Set<Integer> liveIds(TableVersion version, List<T> changed) {
+            if (knownIds != null) {
+                Set<Integer> liveIds = new HashSet<>(knownIds);
+                changed.forEach(row -> liveIds.add(id.applyAsInt(row)));
+                if (liveIds.size() == version.rowCount())
+                    return liveIds;
+            }
+            Set<Integer> liveIds = dao.readAllIds();
+            return (liveIds.isEmpty() && version.rowCount() > 0) ? null : liveIds;
+        }
+
+        /**
+         * Moves the watermark on to the latest 'Last_Update' among the changed rows, and notes the ids of the rows read
+         * at it.
+         *
+         * @param changed rows read since the watermark
+         */
+        private void advanceWatermark(List<T> changed) {
+            Timestamp latest = CacheMerge.latestUpdate(changed, lastUpdate);
+            if (latest == null)
+                return;
+            if (watermark == null || latest.after(watermark)) {
+                watermark = latest;
+                readAtWatermark = new HashSet<>();
+            }
+            for (T row : changed) {
+                if (watermark.equals(lastUpdate.apply(row)))
+                    readAtWatermark.add(id.applyAsInt(row));
+            }
+        }
+    }
+}
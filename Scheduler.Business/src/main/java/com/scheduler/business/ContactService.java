@@ -4,7 +4,7 @@ import com.scheduler.access.object.mysql.ContactDAO;
 import com.scheduler.common.model.Contact;
 
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -15,14 +15,22 @@ import java.util.stream.Collectors;
  */
 public class ContactService {
     private static volatile ContactService instance;
-    private final List<Contact> contacts;
+    private final IndexedList<Contact> contacts;
 
     /**
      * Constructor: Sets up DAO to create a list of contacts, pulled from the database.
      */
     private ContactService() {
-        ContactDAO dao = new ContactDAO();
-        contacts = dao.readAll();
+        this(new ContactDAO().readAll());
+    }
+
+    /**
+     * Constructor: Sets up the list of contacts from rows already read from the database, indexed by ID and name.
+     *
+     * @param contacts contacts read from the database or a snapshot
+     */
+    private ContactService(List<Contact> contacts) {
+        this.contacts = new IndexedList<>(contacts, Contact::getId, Contact::getName);
     }
 
     /**
@@ -41,6 +49,23 @@ public class ContactService {
         return instance;
     }
 
+    /**
+     * Creates the singleton instance from contacts already read from the database, if it was not created already.
+     *
+     * @param contacts contacts read from the database or a snapshot
+     * @see ServiceBootstrap
+     * @see ReferenceSnapshots
+     */
+    static void initialize(List<Contact> contacts) {
+        if (instance == null) {
+            synchronized (ContactService.class) {
+                if (instance == null) {
+                    instance = new ContactService(contacts);
+                }
+            }
+        }
+    }
+
     public List<Contact> getContacts() { return contacts; }
 
     /**
@@ -59,10 +84,8 @@ public class ContactService {
      * @return ID value or value of <code>-1</code> if no contact is found
      */
     public int getIdByName(String name) {
-        List<Contact> filtered = contacts.stream()
-                .filter(contact -> Objects.equals(contact.getName(), name))
-                .toList();
-        return filtered.isEmpty() ? -1 : filtered.get(0).getId();
+        Contact contact = contacts.getByName(name);
+        return (contact == null) ? -1 : contact.getId();
     }
 
     /**
@@ -71,10 +94,27 @@ public class ContactService {
      * @return name value or empty {@link String} if no contact is found
      */
     public String getNameById(int id) {
+        Contact contact = contacts.getById(id);
+        return (contact == null) ? "" : contact.getName();
+    }
+
+    /**
+     * Get the names of all contacts, keyed by contact ID, for looking up many names at once.
+     * @return map of contact ID to name value
+     */
+    public Map<Integer, String> getNamesById() {
         return contacts.stream()
-                .filter(c -> c.getId() == id)
-                .toList()
-                .get(0)
-                .getName();
+                .collect(Collectors.toMap(Contact::getId, Contact::getName));
+    }
+
+    /**
+     * Replaces {@link #contacts} with a fresh copy read from the database. The 'contacts' table has no 'Last_Update'
+     * column to read changes by, and is small enough to read in full.
+     * @param current every contact, as read from the database
+     * @see CacheRefresher
+     */
+    void replaceAll(List<Contact> current) {
+        contacts.clear();
+        contacts.addAll(current);
     }
 }
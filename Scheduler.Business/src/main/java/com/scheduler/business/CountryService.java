@@ -3,8 +3,9 @@ package com.scheduler.business;
 import com.scheduler.access.object.mysql.CountryDAO;
 import com.scheduler.common.model.Country;
 
+import java.sql.Timestamp;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -15,14 +16,22 @@ import java.util.stream.Collectors;
  */
 public class CountryService {
     private static volatile CountryService instance;
-    private final List<Country> countries;
+    private final IndexedList<Country> countries;
 
     /**
      * Constructor: Sets up DAO to create a list of countries, pulled from the database.
      */
     private CountryService() {
-        CountryDAO dao = new CountryDAO();
-        countries = dao.readAll();
+        this(new CountryDAO().readAll());
+    }
+
+    /**
+     * Constructor: Sets up the list of countries from rows already read from the database, indexed by ID and name.
+     *
+     * @param countries countries read from the database or a snapshot
+     */
+    private CountryService(List<Country> countries) {
+        this.countries = new IndexedList<>(countries, Country::getId, Country::getName);
     }
 
     /**
@@ -41,16 +50,30 @@ public class CountryService {
         return instance;
     }
 
+    /**
+     * Creates the singleton instance from countries already read from the database, if it was not created already.
+     *
+     * @param countries countries read from the database or a snapshot
+     * @see ServiceBootstrap
+     * @see ReferenceSnapshots
+     */
+    static void initialize(List<Country> countries) {
+        if (instance == null) {
+            synchronized (CountryService.class) {
+                if (instance == null) {
+                    instance = new CountryService(countries);
+                }
+            }
+        }
+    }
+
     /**
      * Gets the country instance with the given ID.
      * @param id unique identifier used to query {@link Country}
      * @return {@link Country} or <code>null</code> if not found
      */
     public Country getCountryById(int id) {
-        List<Country> filtered = countries.stream()
-                .filter(c -> c.getId() == id)
-                .toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        return countries.getById(id);
     }
 
     /**
@@ -59,10 +82,7 @@ public class CountryService {
      * @return {@link Country} or <code>null</code> if not found
      */
     public Country getCountryByName(String name) {
-        List<Country> filtered = countries.stream()
-                .filter(c -> Objects.equals(c.getName(), name))
-                .toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        return countries.getByName(name);
     }
 
     /**
@@ -74,4 +94,23 @@ public class CountryService {
                 .map(Country::getName)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Brings {@link #countries} up to date with rows changed in the database since it was last read.
+     * @param changed rows created or updated since {@link #countries} was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @return true if {@link #countries} was modified
+     * @see CacheRefresher
+     */
+    boolean applyChanges(List<Country> changed, Set<Integer> liveIds) {
+        return CacheMerge.merge(countries, changed, liveIds, Country::getLastUpdate);
+    }
+
+    /**
+     * Gets the latest 'Last_Update' value among {@link #countries}.
+     * @return latest value, or <em>null</em> if there is none
+     */
+    Timestamp getLatestUpdate() {
+        return CacheMerge.latestUpdate(countries, Country::getLastUpdate);
+    }
 }
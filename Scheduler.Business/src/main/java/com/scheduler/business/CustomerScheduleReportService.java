@@ -4,7 +4,6 @@ import com.scheduler.common.model.*;
 import com.scheduler.common.util.Formatter;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class CustomerScheduleReportService {
@@ -14,11 +13,8 @@ public class CustomerScheduleReportService {
         CustomerService service = CustomerService.getInstance();
         AppointmentService appointmentService = AppointmentService.getInstance();
         List<Customer> customers = service.getAllCustomers();
-        List<Appointment> appointments = appointmentService.getAllAppointments();
 
-        customers.forEach(customer -> appointments.stream()
-                .filter(a -> a.getCustomerId() == customer.getId())
-                .sorted(Comparator.comparing(Appointment::getStart))
+        customers.forEach(customer -> appointmentService.getAppointmentsByCustomerId(customer.getId())
                 .forEach(appointment -> items.add(new CustomerScheduleReportItem(customer.getName(), appointment.getId(),
                         appointment.getTitle(), appointment.getType(), appointment.getDescription(),
                         Formatter.toDisplay(appointment.getStartDefault()),
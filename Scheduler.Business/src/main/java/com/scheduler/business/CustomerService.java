@@ -1,12 +1,17 @@
 package com.scheduler.business;
 
 import com.scheduler.access.object.mysql.CustomerDAO;
+import com.scheduler.common.model.Appointment;
 import com.scheduler.common.model.Country;
 import com.scheduler.common.model.Customer;
 import com.scheduler.common.model.Division;
 
+import org.javatuples.Pair;
+
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -20,18 +25,29 @@ public class CustomerService {
     private final CustomerDAO dao;
     private final DivisionService divisionService;
     private final CountryService countryService;
-    private final List<Customer> customers;
+    private final IndexedList<Customer> customers;
+    private final LocalChangeLog localChanges = new LocalChangeLog();
 
     /**
-     * Constructor: Sets up DAO to create a list of customers, pulled from the database. Sets up instances of Division
-     * and Country Services. Populate front end helper field.
+     * Constructor: Sets up DAO to create a list of customers, pulled from the database along with their divisions and
+     * countries in a single query. Sets up instances of Division and Country Services. Populate front end helper field.
      *
      * @see com.scheduler.business.DivisionService Division Service
      * @see com.scheduler.business.CountryService Country Service
      */
     private CustomerService() {
+        this(new CustomerDAO().readAllWithDivisions());
+    }
+
+    /**
+     * Constructor: Sets up the list of customers from rows already read from the database with their divisions and
+     * countries. Sets up DAO and instances of Division and Country Services. Populate front end helper field.
+     *
+     * @param customers customers read from the database, with divisions set
+     */
+    private CustomerService(List<Customer> customers) {
         dao = new CustomerDAO();
-        customers = dao.readAll();
+        this.customers = new IndexedList<>(customers, Customer::getId, Customer::getName);
         divisionService = DivisionService.getInstance();
         countryService = CountryService.getInstance();
         customers.forEach(this::populateExtendedAddressField);
@@ -53,20 +69,65 @@ public class CustomerService {
         return instance;
     }
 
+    /**
+     * Creates the singleton instance from customers already read from the database, if it was not created already.
+     *
+     * @param customers customers read from the database, with divisions set
+     * @see ServiceBootstrap
+     */
+    static void initialize(List<Customer> customers) {
+        if (instance == null) {
+            synchronized (CustomerService.class) {
+                if (instance == null) {
+                    instance = new CustomerService(customers);
+                }
+            }
+        }
+    }
+
     /**
      * Creates a string from existing Customer fields and sets the 'extendedAddress' field as the newly created string.
+     * Customers read without their division have it set first.
      *
      * @param customer Customer instance to be modified
      * @see com.scheduler.common.model.Customer Customer
      */
     private void populateExtendedAddressField(Customer customer) {
-        Division division = divisionService.getDivisionById(customer.getDivisionId());
-        Country country = countryService.getCountryById(division.getCountryId());
+        if (customer.getDivision() == null)
+            customer.setDivision(getDivisionWithCountry(customer.getDivisionId()));
+        customer.setExtendedAddress(toExtendedAddress(customer.getAddress(), customer.getDivision()));
+    }
 
-        String countryName = ("Canada".equals(country.getName())) ? "Canadian" : country.getName();
-        String extendedAddress = countryName + " address: " + customer.getAddress() + ", " + division.getName();
+    /**
+     * Gets the division of the given ID from the Division Service, with its country set.
+     *
+     * @param divisionId unique identifier of the division
+     * @return Division instance with Country set, or <em>null</em> if there is no division with the ID
+     */
+    private Division getDivisionWithCountry(int divisionId) {
+        Division division = divisionService.getDivisionById(divisionId);
+        if (division != null && division.getCountry() == null) {
+            Country country = countryService.getCountryById(division.getCountryId());
+            if (country != null)
+                division.setCountry(country);
+        }
+        return division;
+    }
 
-        customer.setExtendedAddress(extendedAddress);
+    /**
+     * Creates the 'extendedAddress' string from an address and the division it is in.
+     *
+     * @param address street address
+     * @param division division of the address, with its country set, or <em>null</em> if it is not known
+     * @return address prefixed by its country and followed by its division, or the address alone if its division or
+     * country is not known
+     */
+    private String toExtendedAddress(String address, Division division) {
+        if (division == null || division.getCountry() == null)
+            return address;
+        Country country = division.getCountry();
+        String countryName = ("Canada".equals(country.getName())) ? "Canadian" : country.getName();
+        return countryName + " address: " + address + ", " + division.getName();
     }
 
     /**
@@ -81,10 +142,7 @@ public class CustomerService {
      * @return Matching {@link Customer} instance or <code>null</code> if none was found
      */
     public Customer getCustomerById(int id) {
-        List<Customer> filtered = customers.stream()
-                .filter(c -> c.getId() == id)
-                .toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        return customers.getById(id);
     }
 
     /**
@@ -98,6 +156,7 @@ public class CustomerService {
         if (created != null) {
             populateExtendedAddressField(created);
             customers.add(created);
+            localChanges.record(created.getId());
         }
         return created;
     }
@@ -112,14 +171,31 @@ public class CustomerService {
         Customer toDelete = null;
         boolean wasDeleted = dao.delete(id);
         if (wasDeleted) {
-            toDelete = customers.stream()
-                    .filter(c -> c.getId() == id)
-                    .toList().get(0);
+            toDelete = customers.getById(id);
             customers.remove(toDelete);
+            localChanges.record(id);
         }
         return toDelete;
     }
 
+    /**
+     * Deletes a {@link Customer} and all of its {@link Appointment}s from the database in one transaction, so that
+     * either all of them are deleted or none are. If successful, remove the {@link Customer} from {@link #customers}
+     * and its {@link Appointment}s from the list held by the {@link AppointmentService}.
+     * @param id unique identifier to query {@link Customer}
+     * @return deleted {@link Customer} instance and its removed {@link Appointment}s, or <code>null</code> if deletion
+     * failed
+     */
+    public Pair<Customer, List<Appointment>> deleteCustomerWithAppointments(int id) {
+        if (!dao.deleteWithAppointments(id))
+            return null;
+        Customer toDelete = customers.getById(id);
+        customers.remove(toDelete);
+        localChanges.record(id);
+        List<Appointment> evicted = AppointmentService.getInstance().evictByCustomerId(id);
+        return new Pair<>(toDelete, evicted);
+    }
+
     /**
      * Updates a {@link Customer} in the database. If successful, remove the defunct {@link Customer} from
      * {@link #customers} and add the updated one.
@@ -130,27 +206,25 @@ public class CustomerService {
         Customer updated = dao.update(customer);
         if (updated != null) {
             populateExtendedAddressField(updated);
-            Customer defunct = customers.stream()
-                    .filter(c -> c.getId() == updated.getId())
-                    .toList().get(0);
-            customers.remove(defunct);
+            customers.remove(customers.getById(updated.getId()));
             customers.add(updated);
+            localChanges.record(updated.getId());
         }
         return updated;
     }
 
     /**
-     * Gets all {@link Customer Customers} of the given {@link Country} name from {@link #customers}.
+     * Gets all {@link Customer Customers} of the given {@link Country} name from {@link #customers}, using the country
+     * each customer was loaded with.
      * @param countryName name {@link String} of the {@link Country} to filter {@link Customer Customers}
      * @return {@link List} of {@link Customer Customers} filtered by <code>countryName</code> or empty {@link List}
      * if none are found
      */
     public List<Customer> getCustomersByCountryName(String countryName) {
-        return customers.stream().filter(customer -> {
-            Division division = divisionService.getDivisionById(customer.getDivisionId());
-            Country country = countryService.getCountryById(division.getCountryId());
-            return Objects.equals(country.getName(), countryName);
-        }).collect(Collectors.toList());
+        return customers.stream()
+                .filter(customer -> customer.getDivision() != null && customer.getDivision().getCountry() != null)
+                .filter(customer -> Objects.equals(customer.getDivision().getCountry().getName(), countryName))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -169,10 +243,8 @@ public class CustomerService {
      * @return <code>id</code> of matching {@link Customer} or <code>-1</code> if not found
      */
     public int getIdByName(String name) {
-        List<Customer> filtered = customers.stream()
-                .filter(customer -> Objects.equals(customer.getName(), name))
-                .toList();
-        return filtered.isEmpty() ? -1 : filtered.get(0).getId();
+        Customer customer = customers.getByName(name);
+        return (customer == null) ? -1 : customer.getId();
     }
 
     /**
@@ -181,9 +253,39 @@ public class CustomerService {
      * @return <code>name</code> of matching {@link Customer} or empty {@link String} literal if not found
      */
     public String getNameById(int id) {
-        List<Customer> filtered = customers.stream()
-                .filter(c -> c.getId() == id)
-                .toList();
-        return filtered.isEmpty() ? "" : filtered.get(0).getName();
+        Customer customer = customers.getById(id);
+        return (customer == null) ? "" : customer.getName();
+    }
+
+    /**
+     * Brings {@link #customers} up to date with rows changed in the database since it was last read. Changed rows
+     * have their front end fields populated first. Customers created, updated or deleted here since the rows were read
+     * are left as they are.
+     * @param changed rows created or updated since {@link #customers} was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @param mark value of {@link #getLocalChangeMark()} taken before the rows were read
+     * @return true if {@link #customers} was modified
+     * @see CacheRefresher
+     */
+    boolean applyChanges(List<Customer> changed, Set<Integer> liveIds, long mark) {
+        changed.forEach(this::populateExtendedAddressField);
+        return CacheMerge.merge(customers, changed, liveIds, localChanges.takeChangedAfter(mark),
+                Customer::getLastUpdate);
+    }
+
+    /**
+     * Gets a mark of the customers changed here so far, to be taken before reading changed rows from the database.
+     * @return mark to pass to {@link #applyChanges(List, Set, long)}
+     */
+    long getLocalChangeMark() {
+        return localChanges.mark();
+    }
+
+    /**
+     * Gets the latest 'Last_Update' value among {@link #customers}.
+     * @return latest value, or <em>null</em> if there is none
+     */
+    Timestamp getLatestUpdate() {
+        return CacheMerge.latestUpdate(customers, Customer::getLastUpdate);
     }
 }
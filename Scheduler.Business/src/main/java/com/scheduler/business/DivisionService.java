@@ -4,8 +4,9 @@ import com.scheduler.access.object.mysql.DivisionDAO;
 import com.scheduler.common.model.Country;
 import com.scheduler.common.model.Division;
 
+import java.sql.Timestamp;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -16,14 +17,22 @@ import java.util.stream.Collectors;
  */
 public class DivisionService {
     private static volatile DivisionService instance;
-    private final List<Division> divisions;
+    private final IndexedList<Division> divisions;
 
     /**
      * Constructor: Sets up DAO to create a list of divisions, pulled from the database.
      */
     private DivisionService() {
-        DivisionDAO dao = new DivisionDAO();
-        divisions = dao.readAll();
+        this(new DivisionDAO().readAll());
+    }
+
+    /**
+     * Constructor: Sets up the list of divisions from rows already read from the database, indexed by ID and name.
+     *
+     * @param divisions divisions read from the database or a snapshot
+     */
+    private DivisionService(List<Division> divisions) {
+        this.divisions = new IndexedList<>(divisions, Division::getId, Division::getName);
     }
 
     /**
@@ -42,15 +51,30 @@ public class DivisionService {
         return instance;
     }
 
+    /**
+     * Creates the singleton instance from divisions already read from the database, if it was not created already.
+     *
+     * @param divisions divisions read from the database or a snapshot
+     * @see ServiceBootstrap
+     * @see ReferenceSnapshots
+     */
+    static void initialize(List<Division> divisions) {
+        if (instance == null) {
+            synchronized (DivisionService.class) {
+                if (instance == null) {
+                    instance = new DivisionService(divisions);
+                }
+            }
+        }
+    }
+
     /**
      * Get a division by its unique ID.
      * @param id Unique identifier used to query for division
      * @return Matching division instance or <em>null</em> if no division is found
      */
     public Division getDivisionById(int id) {
-        List<Division> filtered = divisions.stream()
-                .filter(d -> d.getId() == id).toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        return divisions.getById(id);
     }
 
     /**
@@ -59,10 +83,7 @@ public class DivisionService {
      * @return Matching division instance or <em>null</em> if no division is found
      */
     public Division getDivisionByName(String name) {
-        List<Division> filtered = divisions.stream()
-                .filter(d -> Objects.equals(d.getName(), name))
-                .toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        return divisions.getByName(name);
     }
 
     /**
@@ -77,4 +98,23 @@ public class DivisionService {
                 .map(Division::getName)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Brings {@link #divisions} up to date with rows changed in the database since it was last read.
+     * @param changed rows created or updated since {@link #divisions} was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @return true if {@link #divisions} was modified
+     * @see CacheRefresher
+     */
+    boolean applyChanges(List<Division> changed, Set<Integer> liveIds) {
+        return CacheMerge.merge(divisions, changed, liveIds, Division::getLastUpdate);
+    }
+
+    /**
+     * Gets the latest 'Last_Update' value among {@link #divisions}.
+     * @return latest value, or <em>null</em> if there is none
+     */
+    Timestamp getLatestUpdate() {
+        return CacheMerge.latestUpdate(divisions, Division::getLastUpdate);
+    }
 }
@@ -0,0 +1,91 @@
+package com.scheduler.business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Secondary index of an {@link IndexedList}, grouping its rows by an int key that many rows may share, such as a
+ * foreign key. Each group is kept sorted in a given order, so rows are added and removed by binary search, in
+ * O(log k) comparisons for a group of k rows, and a group is read back already in order. Kept in step by the list it
+ * was added to. Not synchronized.
+ *
+ * @param <T> type of the indexed rows
+ * @see IndexedList#addGroupIndex(ToIntFunction, Comparator)
+ */
+final class GroupIndex<T> implements SecondaryIndex<T> {
+    private final ToIntFunction<T> key;
+    private final Comparator<? super T> order;
+    private final IntHashMap<List<T>> groups;
+
+    /**
+     * Constructor: Sets up the index over the rows already in a list.
+     *
+     * @param key gets the key of a row
+     * @param order order rows are kept in within a group; rows that compare equal must be the same row
+     * @param rows rows already in the list
+     */
+    GroupIndex(ToIntFunction<T> key, Comparator<? super T> order, List<T> rows) {
+        this.key = key;
+        this.order = order;
+        this.groups = new IntHashMap<>(rows.size());
+        List<List<T>> all = new ArrayList<>();
+        for (T row : rows) {
+            List<T> group = groups.get(key.applyAsInt(row));
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(key.applyAsInt(row), group);
+                all.add(group);
+            }
+            group.add(row);
+        }
+        all.forEach(group -> group.sort(order));
+    }
+
+    /**
+     * Gets the rows with the given key, in order. The returned list is a read-only view that changes along with the
+     * index, so it must be copied before the indexed list is changed while it is being read.
+     *
+     * @param key key of the rows
+     * @return rows with the key, or an empty list if there are none
+     */
+    List<T> get(int key) {
+        List<T> group = groups.get(key);
+        return (group == null) ? Collections.emptyList() : Collections.unmodifiableList(group);
+    }
+
+    @Override
+    public void add(T row) {
+        int rowKey = key.applyAsInt(row);
+        List<T> group = groups.get(rowKey);
+        if (group == null) {
+            group = new ArrayList<>();
+            groups.put(rowKey, group);
+        }
+        int at = Collections.binarySearch(group, row, order);
+        group.add((at < 0) ? -at - 1 : at, row);
+    }
+
+    @Override
+    public void remove(T row) {
+        int rowKey = key.applyAsInt(row);
+        List<T> group = groups.get(rowKey);
+        if (group == null)
+            return;
+        int at = Collections.binarySearch(group, row, order);
+        if (at < 0 || group.get(at) != row)
+            at = group.indexOf(row);
+        if (at < 0)
+            return;
+        group.remove(at);
+        if (group.isEmpty())
+            groups.remove(rowKey, group);
+    }
+
+    @Override
+    public void clear() {
+        groups.clear();
+    }
+}
@@ -0,0 +1,222 @@
+package com.scheduler.business;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * List of cached rows that also indexes them by unique id and, optionally, by name, so the services can look a row up
+ * without scanning the list. The indexes are kept in step with every change made through the list, whether by
+ * <code>add</code>, <code>set</code>, <code>remove</code>, <code>removeIf</code> or <code>clear</code>, so code that
+ * changes the list as any other {@link List} keeps them correct.
+ * <p>
+ * Secondary indexes can be added to group rows by a shared key, with {@link #addGroupIndex(ToIntFunction, Comparator)};
+ * to hold the time ranges of rows sharing a key, with
+ * {@link #addIntervalIndex(ToIntFunction, ToLongFunction, ToLongFunction)}; or to sort every row by start time, with
+ * {@link #addStartTimeIndex(ToLongFunction)}. All are kept in step the same way.
+ * <p>
+ * Ids are indexed in an {@link IntHashMap}, so they are not boxed. Should two rows share a name, the name index holds
+ * the one added first. A row's id and name must not change while it is in the list. Not synchronized.
+ *
+ * @param <T> type of the cached rows
+ */
+final class IndexedList<T> extends AbstractList<T> implements RandomAccess {
+    private final ArrayList<T> rows;
+    private final ToIntFunction<T> id;
+    private final Function<T, String> name;
+    private final IntHashMap<T> byId;
+    private final Map<String, T> byName;
+    private final List<SecondaryIndex<T>> secondaryIndexes = new ArrayList<>();
+
+    /**
+     * Constructor: Sets up a list of rows indexed by id only.
+     *
+     * @param rows initial rows, copied into the list
+     * @param id gets the unique id of a row
+     */
+    IndexedList(Collection<T> rows, ToIntFunction<T> id) {
+        this(rows, id, null);
+    }
+
+    /**
+     * Constructor: Sets up a list of rows indexed by id and name.
+     *
+     * @param rows initial rows, copied into the list
+     * @param id gets the unique id of a row
+     * @param name gets the name of a row, or <em>null</em> to not index rows by name
+     */
+    IndexedList(Collection<T> rows, ToIntFunction<T> id, Function<T, String> name) {
+        this.rows = new ArrayList<>(rows);
+        this.id = id;
+        this.name = name;
+        this.byId = new IntHashMap<>(rows.size());
+        this.byName = (name == null) ? null : new HashMap<>();
+        this.rows.forEach(this::index);
+    }
+
+    /**
+     * Gets the row with the given id.
+     *
+     * @param id unique id of the row
+     * @return matching row or <em>null</em> if not found
+     */
+    T getById(int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Gets the unique id of the given row, whether or not it is in the list.
+     *
+     * @param row row to get the id of
+     * @return unique id of the row
+     */
+    int idOf(T row) {
+        return id.applyAsInt(row);
+    }
+
+    /**
+     * Gets the row with the given name.
+     *
+     * @param name name of the row
+     * @return matching row or <em>null</em> if not found or rows are not indexed by name
+     */
+    T getByName(String name) {
+        return (byName == null) ? null : byName.get(name);
+    }
+
+    /**
+     * Adds a secondary index grouping the rows by the given key, each group sorted in the given order.
+     *
+     * @param key gets the key of a row
+     * @param order order rows are kept in within a group; rows that compare equal must be the same row
+     * @return the index, kept in step with the list from now on
+     */
+    GroupIndex<T> addGroupIndex(ToIntFunction<T> key, Comparator<? super T> order) {
+        GroupIndex<T> index = new GroupIndex<>(key, order, rows);
+        secondaryIndexes.add(index);
+        return index;
+    }
+
+    /**
+     * Adds a secondary index holding the time range of each row, grouped by the given key, so that the rows of a group
+     * whose ranges overlap a given range can be found without scanning the group.
+     *
+     * @param key gets the key of a row
+     * @param start gets the start of a row's range, in epoch milliseconds
+     * @param end gets the end of a row's range, in epoch milliseconds, after which the range stops
+     * @return the index, kept in step with the list from now on
+     */
+    IntervalIndex<T> addIntervalIndex(ToIntFunction<T> key, ToLongFunction<T> start, ToLongFunction<T> end) {
+        IntervalIndex<T> index = new IntervalIndex<>(key, id, start, end, rows);
+        secondaryIndexes.add(index);
+        return index;
+    }
+
+    /**
+     * Adds a secondary index sorting the rows by start time, so that the rows starting within a window can be found
+     * without scanning the list.
+     *
+     * @param start gets the start of a row, in epoch milliseconds
+     * @return the index, kept in step with the list from now on
+     */
+    StartTimeIndex<T> addStartTimeIndex(ToLongFunction<T> start) {
+        StartTimeIndex<T> index = new StartTimeIndex<>(id, start, rows);
+        secondaryIndexes.add(index);
+        return index;
+    }
+
+    @Override
+    public T get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public T set(int index, T row) {
+        T replaced = rows.set(index, row);
+        unindex(replaced);
+        index(row);
+        return replaced;
+    }
+
+    @Override
+    public void add(int index, T row) {
+        rows.add(index, row);
+        modCount++;
+        index(row);
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = rows.remove(index);
+        modCount++;
+        unindex(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        List<T> removed = new ArrayList<>();
+        boolean isChanged = rows.removeIf(row -> {
+            if (!filter.test(row))
+                return false;
+            removed.add(row);
+            return true;
+        });
+        if (isChanged) {
+            modCount++;
+            removed.forEach(this::unindex);
+        }
+        return isChanged;
+    }
+
+    @Override
+    public void clear() {
+        rows.clear();
+        modCount++;
+        byId.clear();
+        if (byName != null)
+            byName.clear();
+        secondaryIndexes.forEach(SecondaryIndex::clear);
+    }
+
+    private void index(T row) {
+        byId.put(id.applyAsInt(row), row);
+        if (byName != null)
+            byName.putIfAbsent(name.apply(row), row);
+        for (SecondaryIndex<T> index : secondaryIndexes)
+            index.add(row);
+    }
+
+    private void unindex(T row) {
+        byId.remove(id.applyAsInt(row), row);
+        for (SecondaryIndex<T> index : secondaryIndexes)
+            index.remove(row);
+        if (byName == null)
+            return;
+        String rowName = name.apply(row);
+        if (byName.get(rowName) != row)
+            return;
+        byName.remove(rowName);
+        for (T other : rows) {
+            if (Objects.equals(name.apply(other), rowName)) {
+                byName.put(rowName, other);
+                break;
+            }
+        }
+    }
+}
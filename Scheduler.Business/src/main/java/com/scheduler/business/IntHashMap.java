@@ -0,0 +1,127 @@
+package com.scheduler.business;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from primitive <code>int</code> keys to values, so that looking a row up by its id does not box the id.
+ * Uses open addressing with linear probing; removals shift later entries of the same run back, so no tombstones are
+ * left behind. Not synchronized.
+ *
+ * @param <V> type of the values
+ */
+final class IntHashMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Constructor: Sets up an empty map with room for the given number of entries before it grows.
+     *
+     * @param expectedSize number of entries expected
+     */
+    IntHashMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize)
+            capacity <<= 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Gets the value of the given key.
+     *
+     * @param key key to look up
+     * @return value of the key, or <em>null</em> if there is none
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key)
+                return (V) values[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Sets the value of the given key.
+     *
+     * @param key key to set
+     * @param value value to set, not <em>null</em>
+     */
+    void put(int key, V value) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * 3 / 4)
+            resize(keys.length << 1);
+    }
+
+    /**
+     * Removes the given key, if its value is the given one.
+     *
+     * @param key key to remove
+     * @param value value the key must have to be removed
+     */
+    void remove(int key, V value) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        if (values[slot] != value)
+            return;
+
+        values[slot] = null;
+        size--;
+        for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            boolean isBetween = (slot <= next) ? (slot < home && home <= next) : (slot < home || home <= next);
+            if (!isBetween) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                values[next] = null;
+                slot = next;
+            }
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null)
+                continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (values[slot] != null)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
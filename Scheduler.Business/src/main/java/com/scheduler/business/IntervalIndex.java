@@ -0,0 +1,226 @@
+package com.scheduler.business;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Secondary index of an {@link IndexedList}, holding the time range of each row, as epoch milliseconds, grouped by an
+ * int key that many rows may share, such as a foreign key. Ranges are half open: a range stops at its end, so one that
+ * ends as another starts does not overlap it.
+ * <p>
+ * Each group is an augmented interval tree: an AVL tree ordered by start, then by id, where every node also holds the
+ * latest end in its subtree. Rows are added and removed in O(log k) for a group of k rows. Whether a range overlaps
+ * any row of a group is answered in O(log k), since subtrees that end too early or start too late are never visited.
+ * The query can leave out one row by id, such as the one being modified. Kept in step by the list it was added to.
+ * Not synchronized.
+ *
+ * @param <T> type of the indexed rows
+ * @see IndexedList#addIntervalIndex(ToIntFunction, ToLongFunction, ToLongFunction)
+ */
+final class IntervalIndex<T> implements SecondaryIndex<T> {
+    /** Id that no row has, to leave no row out of a query. */
+    static final int NO_ID = -1;
+
+    private final ToIntFunction<T> key;
+    private final ToIntFunction<T> id;
+    private final ToLongFunction<T> start;
+    private final ToLongFunction<T> end;
+    private final IntHashMap<Node<T>> trees;
+    private boolean isRemoved;
+
+    /**
+     * Constructor: Sets up the index over the rows already in a list.
+     *
+     * @param key gets the key of a row
+     * @param id gets the unique id of a row
+     * @param start gets the start of a row's range, in epoch milliseconds
+     * @param end gets the end of a row's range, in epoch milliseconds
+     * @param rows rows already in the list
+     */
+    IntervalIndex(ToIntFunction<T> key, ToIntFunction<T> id, ToLongFunction<T> start, ToLongFunction<T> end,
+                  List<T> rows) {
+        this.key = key;
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.trees = new IntHashMap<>(rows.size());
+        rows.forEach(this::add);
+    }
+
+    /**
+     * Checks whether any row with the given key has a range overlapping the given one.
+     *
+     * @param key key of the rows
+     * @param from start of the range, in epoch milliseconds
+     * @param to end of the range, in epoch milliseconds
+     * @param excludedId id of a row to leave out, or {@link #NO_ID}
+     * @return true if an overlapping row was found
+     */
+    boolean overlapsAny(int key, long from, long to, int excludedId) {
+        return overlapsAny(trees.get(key), from, to, excludedId);
+    }
+
+    @Override
+    public void add(T row) {
+        int rowKey = key.applyAsInt(row);
+        Node<T> root = trees.get(rowKey);
+        Node<T> updated = insert(root, new Node<>(row, start.applyAsLong(row), end.applyAsLong(row),
+                id.applyAsInt(row)));
+        if (updated != root)
+            trees.put(rowKey, updated);
+    }
+
+    @Override
+    public void remove(T row) {
+        int rowKey = key.applyAsInt(row);
+        Node<T> root = trees.get(rowKey);
+        if (root == null)
+            return;
+        isRemoved = false;
+        Node<T> updated = delete(root, row, start.applyAsLong(row), id.applyAsInt(row));
+        if (updated == null)
+            trees.remove(rowKey, root);
+        else if (updated != root)
+            trees.put(rowKey, updated);
+    }
+
+    @Override
+    public void clear() {
+        trees.clear();
+    }
+
+    private static <T> boolean overlapsAny(Node<T> node, long from, long to, int excludedId) {
+        if (node == null || node.maxEnd <= from)
+            return false;
+        if (overlapsAny(node.left, from, to, excludedId))
+            return true;
+        if (node.start >= to)
+            return false;
+        if (node.end > from && node.id != excludedId)
+            return true;
+        return overlapsAny(node.right, from, to, excludedId);
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null)
+            return added;
+        if (compare(added.start, added.id, node) < 0)
+            node.left = insert(node.left, added);
+        else
+            node.right = insert(node.right, added);
+        return balance(node);
+    }
+
+    /**
+     * Deletes the node of the given row. Rows are found by start and id, but a row replaced by another with the same
+     * id and start may briefly share its place, so nodes that compare equal are searched on both sides until the one
+     * holding the row itself is found.
+     */
+    private Node<T> delete(Node<T> node, T row, long rowStart, int rowId) {
+        if (node == null)
+            return null;
+        int cmp = compare(rowStart, rowId, node);
+        if (cmp == 0 && node.row == row) {
+            isRemoved = true;
+            if (node.left == null)
+                return node.right;
+            if (node.right == null)
+                return node.left;
+            Node<T> successor = first(node.right);
+            successor.right = deleteFirst(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+        if (cmp <= 0)
+            node.left = delete(node.left, row, rowStart, rowId);
+        if (cmp >= 0 && !isRemoved)
+            node.right = delete(node.right, row, rowStart, rowId);
+        return balance(node);
+    }
+
+    private static <T> Node<T> first(Node<T> node) {
+        while (node.left != null)
+            node = node.left;
+        return node;
+    }
+
+    private static <T> Node<T> deleteFirst(Node<T> node) {
+        if (node.left == null)
+            return node.right;
+        node.left = deleteFirst(node.left);
+        return balance(node);
+    }
+
+    private static <T> int compare(long start, int id, Node<T> node) {
+        int cmp = Long.compare(start, node.start);
+        return (cmp != 0) ? cmp : Integer.compare(id, node.id);
+    }
+
+    private static <T> int height(Node<T> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static <T> Node<T> balance(Node<T> node) {
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right))
+                node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left))
+                node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        node.update();
+        return node;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node<T> {
+        private final T row;
+        private final long start;
+        private final long end;
+        private final int id;
+        private long maxEnd;
+        private int height;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T row, long start, long end, int id) {
+            this.row = row;
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+
+        private void update() {
+            height = 1 + Math.max(IntervalIndex.height(left), IntervalIndex.height(right));
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd)
+                maxEnd = left.maxEnd;
+            if (right != null && right.maxEnd > maxEnd)
+                maxEnd = right.maxEnd;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.scheduler.business;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Log of the ids of cached rows created, updated or deleted from this workstation, so that a refresh read from the
+ * database before such a change does not undo it when merged afterwards. Each change is numbered in order; a refresh
+ * takes a {@link #mark()} before it reads, and leaves alone every id changed after that mark when it is merged.
+ * Entries are dropped once every refresh that could need them has been merged.
+ *
+ * @see CacheRefresher
+ */
+final class LocalChangeLog {
+    private final Map<Integer, Long> changedAt = new HashMap<>();
+    private long sequence;
+
+    /**
+     * Records that the row with the given id was changed from this workstation.
+     *
+     * @param id unique id of the changed row
+     */
+    synchronized void record(int id) {
+        changedAt.put(id, ++sequence);
+    }
+
+    /**
+     * Gets the number of the latest change, to be taken before reading a refresh.
+     *
+     * @return mark to pass to {@link #takeChangedAfter(long)} when merging the refresh
+     */
+    synchronized long mark() {
+        return sequence;
+    }
+
+    /**
+     * Gets the ids changed after the given mark, and drops the entries at or before it. Refreshes are merged in the
+     * order they were read, so no later refresh needs the dropped entries.
+     *
+     * @param mark value of {@link #mark()} taken before the refresh was read
+     * @return ids of the rows changed from this workstation since the refresh was read
+     */
+    synchronized Set<Integer> takeChangedAfter(long mark) {
+        changedAt.values().removeIf(at -> at <= mark);
+        return new HashSet<>(changedAt.keySet());
+    }
+}
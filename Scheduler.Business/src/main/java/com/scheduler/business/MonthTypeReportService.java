@@ -1,31 +1,68 @@
 package com.scheduler.business;
 
+import com.scheduler.access.object.mysql.AppointmentDAO;
 import com.scheduler.common.model.Appointment;
 import com.scheduler.common.model.MonthTypeReportItem;
 import com.scheduler.common.util.Formatter;
 
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class MonthTypeReportService {
     private final List<MonthTypeReportItem> items = new ArrayList<>();
 
+    /**
+     * Ways the report totals can be produced.
+     */
+    public enum Mode {
+        /** Totals are counted by the database and read as one small result set. */
+        AGGREGATE,
+        /** Totals are counted from the appointments already loaded by {@link AppointmentService}. */
+        IN_MEMORY
+    }
+
+    /**
+     * Constructor: Builds the report with totals counted by the database.
+     */
     public MonthTypeReportService() {
-        AppointmentService appointmentService = AppointmentService.getInstance();
-        List<Appointment> appointments = appointmentService.getAllAppointments();
-
-        appointments.stream()
-                .collect(Collectors.groupingBy(a -> Formatter.toMonthName(a.getStartDefault()),
-                        Collectors.groupingBy(Appointment::getType, Collectors.counting())))
-                .forEach((month, map) -> {
-                    map.forEach((type, total) -> {
-                        items.add(new MonthTypeReportItem(month, type, total.intValue()));
-                    });
-                });
+        this(Mode.AGGREGATE);
     }
 
-    public List<MonthTypeReportItem> getItems() { return items; }
+    /**
+     * Constructor: Builds the report, one item per month and type, in the given mode. Months are labelled with their
+     * year, so the same month of different years is counted separately.
+     *
+     * @param mode where the totals are counted
+     */
+    public MonthTypeReportService(Mode mode) {
+        switch (mode) {
+            case AGGREGATE -> {
+                AppointmentDAO dao = new AppointmentDAO();
+                dao.readMonthTypeTotals(ZoneId.systemDefault())
+                        .forEach(total -> items.add(new MonthTypeReportItem(
+                                Formatter.toMonthYearName(YearMonth.of(total.getYear(), total.getMonth())),
+                                total.getType(), total.getTotal())));
+            }
+            case IN_MEMORY -> {
+                AppointmentService appointmentService = AppointmentService.getInstance();
+                List<Appointment> appointments = appointmentService.getAllAppointments();
 
+                appointments.stream()
+                        .collect(Collectors.groupingBy(a -> YearMonth.from(a.getStartDefault()),
+                                Collectors.groupingBy(Appointment::getType, Collectors.counting())))
+                        .entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .forEach(entry -> entry.getValue().forEach((type, total) ->
+                                items.add(new MonthTypeReportItem(Formatter.toMonthYearName(entry.getKey()), type,
+                                        total.intValue()))));
+            }
+        }
+    }
+
+    public List<MonthTypeReportItem> getItems() { return items; }
 
 }
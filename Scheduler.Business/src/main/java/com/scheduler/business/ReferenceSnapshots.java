@@ -0,0 +1,100 @@
+package com.scheduler.business;
+
+import com.scheduler.access.object.mysql.ContactDAO;
+import com.scheduler.access.object.mysql.CountryDAO;
+import com.scheduler.access.object.mysql.DivisionDAO;
+import com.scheduler.access.object.mysql.ReferenceVersionProbe;
+import com.scheduler.access.object.mysql.UserDAO;
+import com.scheduler.access.snapshot.ReferenceSnapshot;
+import com.scheduler.access.snapshot.ReferenceVersion;
+import com.scheduler.common.model.Contact;
+import com.scheduler.common.model.Country;
+import com.scheduler.common.model.Division;
+import com.scheduler.common.model.User;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Sets up the Country, Division, Contact and User services from the {@link ReferenceSnapshot} on disk, so that they
+ * are ready at start up without a database round trip, and keeps the snapshot in step with the database.
+ * <p>
+ * {@link #restore()} is called before the services are first used. {@link #validate(Executor)} is called afterwards,
+ * in the background: it probes the database's {@link ReferenceVersion}, and if the snapshot is missing or out of date,
+ * re-reads the reference tables, brings the restored services up to date and writes a new snapshot. An empty table is
+ * taken as a failed read, and leaves the services and the snapshot as they are.
+ * <p>
+ * Users are restored without their passwords, which {@link UserService} reads from the database on sign in.
+ *
+ * @see ReferenceSnapshot
+ */
+public class ReferenceSnapshots {
+    private static volatile ReferenceSnapshot restored;
+
+    private ReferenceSnapshots() {}
+
+    /**
+     * Reads the snapshot and creates the Country, Division, Contact and User services from it. Services that were
+     * already created are left as they are.
+     *
+     * @return true if a snapshot was read, false if there is none and the services will read the database
+     */
+    public static boolean restore() {
+        ReferenceSnapshot snapshot = ReferenceSnapshot.read(ReferenceSnapshot.defaultPath());
+        if (snapshot == null)
+            return false;
+        CountryService.initialize(snapshot.getCountries());
+        DivisionService.initialize(snapshot.getDivisions());
+        ContactService.initialize(snapshot.getContacts());
+        UserService.initialize(snapshot.getUsers());
+        restored = snapshot;
+        return true;
+    }
+
+    /**
+     * Checks the snapshot against the database in the background, refreshing the services and the snapshot if it is
+     * missing or out of date.
+     *
+     * @param applyOn executor the updates to the services' lists are run on, e.g. the UI thread
+     * @return future completed once the check, and any refresh, is done
+     */
+    public static CompletableFuture<Void> validate(Executor applyOn) {
+        return CompletableFuture.runAsync(() -> {
+            ReferenceVersion version = new ReferenceVersionProbe().read();
+            if (version == null)
+                return;
+            ReferenceSnapshot current = restored;
+            if (current != null && version.equals(current.getVersion()))
+                return;
+
+            List<Country> countries = new CountryDAO().readAll();
+            List<Division> divisions = new DivisionDAO().readAll();
+            List<Contact> contacts = new ContactDAO().readAll();
+            List<User> users = new UserDAO().readAll();
+            if (countries.isEmpty() || divisions.isEmpty() || contacts.isEmpty() || users.isEmpty())
+                return;
+
+            if (current != null) {
+                applyOn.execute(() -> {
+                    CountryService.getInstance().applyChanges(countries, idsOf(countries, Country::getId));
+                    DivisionService.getInstance().applyChanges(divisions, idsOf(divisions, Division::getId));
+                    ContactService.getInstance().replaceAll(contacts);
+                    UserService.getInstance().applyChanges(users, idsOf(users, User::getId));
+                });
+            }
+            Path path = ReferenceSnapshot.defaultPath();
+            ReferenceSnapshot snapshot = new ReferenceSnapshot(version, countries, divisions, contacts, users);
+            if (snapshot.write(path))
+                restored = snapshot;
+        });
+    }
+
+    private static <T> Set<Integer> idsOf(List<T> rows, ToIntFunction<T> id) {
+        return rows.stream().map(id::applyAsInt).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,28 @@
+package com.scheduler.business;
+
+/**
+ * Secondary index of an {@link IndexedList}, told of every row added to or removed from the list so that it stays in
+ * step with it. A row must not change the values an index reads from it while it is in the list.
+ *
+ * @param <T> type of the indexed rows
+ * @see GroupIndex
+ * @see IntervalIndex
+ */
+interface SecondaryIndex<T> {
+    /**
+     * Indexes a row added to the list.
+     * @param row added row
+     */
+    void add(T row);
+
+    /**
+     * Stops indexing a row removed from the list.
+     * @param row removed row
+     */
+    void remove(T row);
+
+    /**
+     * Stops indexing every row, once the list is cleared.
+     */
+    void clear();
+}
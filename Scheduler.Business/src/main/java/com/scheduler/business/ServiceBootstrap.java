@@ -0,0 +1,98 @@
+package com.scheduler.business;
+
+import com.scheduler.access.object.mysql.ReferenceData;
+import com.scheduler.access.object.mysql.ReferenceDataLoader;
+import com.scheduler.access.object.mysql.ReferenceDataLoader.Table;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Builds every service singleton from one concurrent read of all tables, instead of each service reading its own table
+ * when it is first used. The snapshots are restored first, and only the tables of the services they did not set up are
+ * read. Services that were already created are left as they are.
+ * <p>
+ * The steps are run in order: {@link #restoreSnapshots()}, then {@link #readTables()}, then the <code>create</code>
+ * methods in dependency order, so that the Customer and Appointment services find the services they use already set
+ * up.
+ *
+ * @see ReferenceDataLoader
+ */
+public class ServiceBootstrap {
+    private final Set<Table> toRead = EnumSet.allOf(Table.class);
+    private volatile ReferenceData data;
+
+    /**
+     * Restores the Country, Division, Contact and User services from the reference snapshot and, once the Contact
+     * service is ready, the Appointment service from the appointment snapshot. Without a reference snapshot, the
+     * appointments are read with the other tables.
+     */
+    public void restoreSnapshots() {
+        if (!ReferenceSnapshots.restore())
+            return;
+        toRead.removeAll(EnumSet.of(Table.COUNTRIES, Table.DIVISIONS, Table.CONTACTS, Table.USERS));
+        if (AppointmentSnapshots.restore())
+            toRead.remove(Table.APPOINTMENTS);
+    }
+
+    /**
+     * Reads the tables of the services not restored from a snapshot, all at once.
+     *
+     * @return time taken to read the tables, in milliseconds
+     */
+    public long readTables() {
+        data = new ReferenceDataLoader().load(toRead);
+        return data.getLoadMillis();
+    }
+
+    /**
+     * Creates the Country service from the rows read, or gets it if it was restored from a snapshot.
+     */
+    public void createCountries() {
+        create(data.getCountries(), CountryService::initialize, CountryService::getInstance);
+    }
+
+    /**
+     * Creates the Division service from the rows read, or gets it if it was restored from a snapshot.
+     */
+    public void createDivisions() {
+        create(data.getDivisions(), DivisionService::initialize, DivisionService::getInstance);
+    }
+
+    /**
+     * Creates the Contact service from the rows read, or gets it if it was restored from a snapshot.
+     */
+    public void createContacts() {
+        create(data.getContacts(), ContactService::initialize, ContactService::getInstance);
+    }
+
+    /**
+     * Creates the User service from the rows read, or gets it if it was restored from a snapshot.
+     */
+    public void createUsers() {
+        create(data.getUsers(), UserService::initialize, UserService::getInstance);
+    }
+
+    /**
+     * Creates the Customer service from the rows read. The Country and Division services must be created first.
+     */
+    public void createCustomers() {
+        create(data.getCustomers(), CustomerService::initialize, CustomerService::getInstance);
+    }
+
+    /**
+     * Creates the Appointment service from the rows read, or gets it if it was restored from a snapshot. The Contact
+     * service must be created first.
+     */
+    public void createAppointments() {
+        create(data.getAppointments(), AppointmentService::initialize, AppointmentService::getInstance);
+    }
+
+    private static <T> void create(List<T> rows, Consumer<List<T>> initialize, Runnable getInstance) {
+        if (rows != null)
+            initialize.accept(rows);
+        getInstance.run();
+    }
+}
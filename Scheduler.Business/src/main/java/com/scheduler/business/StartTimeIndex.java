@@ -0,0 +1,108 @@
+package com.scheduler.business;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Secondary index of an {@link IndexedList}, holding its rows sorted by start time, as epoch milliseconds, in a
+ * {@link ConcurrentSkipListMap}. The rows starting within any window are read from a sub-map view of the index, in
+ * O(log n + k) for k rows found, rather than by scanning every row.
+ * <p>
+ * Rows sharing a start time are held together in an unmodifiable array ordered by id, which is replaced rather than
+ * changed whenever one of them is added or removed. Reads are therefore safe from any thread while the list is being
+ * changed, and see each start time either before or after a change, never part way through one. The list itself is
+ * still changed from one thread at a time.
+ *
+ * @param <T> type of the indexed rows
+ * @see IndexedList#addStartTimeIndex(ToLongFunction)
+ */
+final class StartTimeIndex<T> implements SecondaryIndex<T> {
+    private final ToIntFunction<T> id;
+    private final ToLongFunction<T> start;
+    private final ConcurrentSkipListMap<Long, Object[]> byStart = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructor: Sets up the index over the rows already in a list.
+     *
+     * @param id gets the unique id of a row
+     * @param start gets the start of a row, in epoch milliseconds
+     * @param rows rows already in the list
+     */
+    StartTimeIndex(ToIntFunction<T> id, ToLongFunction<T> start, List<T> rows) {
+        this.id = id;
+        this.start = start;
+        rows.forEach(this::add);
+    }
+
+    /**
+     * Gets the rows starting within the given window, read from a sub-map view of the index.
+     *
+     * @param from earliest start to include, in epoch milliseconds
+     * @param to start to stop before, in epoch milliseconds
+     * @return rows found, ordered by start then by id, or an empty list if there are none
+     */
+    List<T> getStartingBetween(long from, long to) {
+        if (from >= to)
+            return Collections.emptyList();
+        return flatten(byStart.subMap(from, true, to, false).values());
+    }
+
+    @Override
+    public void add(T row) {
+        byStart.merge(start.applyAsLong(row), new Object[] {row}, (rows, added) -> {
+            int rowId = id.applyAsInt(row);
+            int at = 0;
+            while (at < rows.length && id.applyAsInt(rowAt(rows, at)) <= rowId)
+                at++;
+            Object[] grown = new Object[rows.length + 1];
+            System.arraycopy(rows, 0, grown, 0, at);
+            grown[at] = row;
+            System.arraycopy(rows, at, grown, at + 1, rows.length - at);
+            return grown;
+        });
+    }
+
+    @Override
+    public void remove(T row) {
+        byStart.computeIfPresent(start.applyAsLong(row), (key, rows) -> {
+            int at = -1;
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i] == row) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0)
+                return rows;
+            if (rows.length == 1)
+                return null;
+            Object[] shrunk = new Object[rows.length - 1];
+            System.arraycopy(rows, 0, shrunk, 0, at);
+            System.arraycopy(rows, at + 1, shrunk, at, rows.length - at - 1);
+            return shrunk;
+        });
+    }
+
+    @Override
+    public void clear() {
+        byStart.clear();
+    }
+
+    private List<T> flatten(Collection<Object[]> groups) {
+        List<T> found = new ArrayList<>();
+        for (Object[] rows : groups)
+            for (int i = 0; i < rows.length; i++)
+                found.add(rowAt(rows, i));
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T rowAt(Object[] rows, int at) {
+        return (T) rows[at];
+    }
+}
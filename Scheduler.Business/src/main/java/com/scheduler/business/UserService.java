@@ -3,8 +3,9 @@ package com.scheduler.business;
 import com.scheduler.access.object.mysql.UserDAO;
 import com.scheduler.common.model.User;
 
+import java.sql.Timestamp;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -16,14 +17,25 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private static volatile UserService instance;
-    private final List<User> users;
+    private final UserDAO dao;
+    private final IndexedList<User> users;
 
     /**
      * Constructor: Sets up DAO to create a list of users, pulled from the database.
      */
     private UserService() {
-        UserDAO dao = new UserDAO();
-        users = dao.readAll();
+        this(new UserDAO().readAll());
+    }
+
+    /**
+     * Constructor: Sets up the list of users from rows already read from the database, or from a snapshot of them
+     * without their passwords, indexed by ID and username. Sets up DAO.
+     *
+     * @param users users read from the database or a snapshot
+     */
+    private UserService(List<User> users) {
+        dao = new UserDAO();
+        this.users = new IndexedList<>(users, User::getId, User::getUsername);
     }
 
     /**
@@ -43,15 +55,38 @@ public class UserService {
     }
 
     /**
-     * Get a user by its unique username.
+     * Creates the singleton instance from users already read from the database, if it was not created already.
+     *
+     * @param users users read from the database or a snapshot
+     * @see ServiceBootstrap
+     * @see ReferenceSnapshots
+     */
+    static void initialize(List<User> users) {
+        if (instance == null) {
+            synchronized (UserService.class) {
+                if (instance == null) {
+                    instance = new UserService(users);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a user by its unique username. A user restored from a snapshot has no password, so it is read from the
+     * database first and replaced in {@link #users}.
      * @param username The unique identifier used to query the user instance
      * @return Matching user instance or <em>null</em> if not found
      */
     public User getUserByUsername(String username) {
-        List<User> filtered = users.stream()
-                .filter(u -> Objects.equals(u.getUsername(), username))
-                .toList();
-        return filtered.isEmpty() ? null : filtered.get(0);
+        User user = users.getByName(username);
+        if (user != null && user.getPassword() == null) {
+            User read = dao.read(user.getId());
+            if (read != null) {
+                users.set(users.indexOf(user), read);
+                user = read;
+            }
+        }
+        return user;
     }
 
     /**
@@ -70,10 +105,8 @@ public class UserService {
      * @return ID value or value of -1 if no user is found
      */
     public int getIdByUsername(String username) {
-        List<User> filtered = users.stream()
-                .filter(u -> Objects.equals(u.getUsername(), username))
-                .toList();
-        return filtered.isEmpty() ? -1 : filtered.get(0).getId();
+        User user = users.getByName(username);
+        return (user == null) ? -1 : user.getId();
     }
 
     /**
@@ -82,9 +115,26 @@ public class UserService {
      * @return Username value or empty string literal if no user is found
      */
     public String getUsernameById(int id) {
-        List<User> filtered =  users.stream()
-                .filter(u -> u.getId() == id)
-                .toList();
-        return filtered.isEmpty() ? "" : filtered.get(0).getUsername();
+        User user = users.getById(id);
+        return (user == null) ? "" : user.getUsername();
+    }
+
+    /**
+     * Brings {@link #users} up to date with rows changed in the database since it was last read.
+     * @param changed rows created or updated since {@link #users} was last brought up to date
+     * @param liveIds ids of every row in the table as of the read
+     * @return true if {@link #users} was modified
+     * @see CacheRefresher
+     */
+    boolean applyChanges(List<User> changed, Set<Integer> liveIds) {
+        return CacheMerge.merge(users, changed, liveIds, User::getLastUpdate);
+    }
+
+    /**
+     * Gets the latest 'Last_Update' value among {@link #users}.
+     * @return latest value, or <em>null</em> if there is none
+     */
+    Timestamp getLatestUpdate() {
+        return CacheMerge.latestUpdate(users, User::getLastUpdate);
     }
 }
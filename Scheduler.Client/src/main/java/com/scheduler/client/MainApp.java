@@ -1,11 +1,22 @@
 package com.scheduler.client;
 
+import com.scheduler.business.AppointmentSnapshots;
+import com.scheduler.business.CacheRefresher;
+import com.scheduler.business.ReferenceSnapshots;
+import com.scheduler.client.controller.HomeController;
+import com.scheduler.client.util.ErrorMessageStore;
 import com.scheduler.client.util.Navigator;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.io.IOException;
@@ -14,6 +25,9 @@ import java.util.Arrays;
 
 public class MainApp extends Application {
 
+    /** Time between refreshes of the services' cached tables from the database. */
+    private static final long CACHE_REFRESH_MILLIS = 60_000;
+
     private static Stage primaryStage;
 
     public static void main(String[] args) {
@@ -38,7 +52,71 @@ public class MainApp extends Application {
     public void start(Stage primaryStage) throws IOException {
         MainApp.primaryStage = primaryStage;
         MainApp.primaryStage.setTitle("Scheduler");
-        Navigator.goToLogin();
+
+        ProgressBar progressBar = new ProgressBar(0);
+        Label phaseLabel = new Label("Loading...");
+        showStartupScreen(progressBar, phaseLabel);
+
+        StartupOrchestrator orchestrator = new StartupOrchestrator((completed, total, phase) ->
+                Platform.runLater(() -> {
+                    progressBar.setProgress((double) completed / total);
+                    phaseLabel.setText("Loaded " + phase.toLowerCase() + " (" + completed + "/" + total + ")");
+                }));
+        orchestrator.start().whenComplete((ignored, e) -> Platform.runLater(() -> {
+            System.out.println(orchestrator.report());
+            if (e != null) {
+                e.printStackTrace();
+                showStartupFailure(progressBar, phaseLabel, orchestrator.getFailedPhase());
+                return;
+            }
+            ReferenceSnapshots.validate(Platform::runLater);
+            new CacheRefresher(CACHE_REFRESH_MILLIS, Platform::runLater, HomeController::reloadFromServices).start();
+            Navigator.goToLogin();
+        }));
+    }
+
+    /**
+     * Called when the application exits. Writes the appointments to the local snapshot, so that the next start up
+     * reads them from disk.
+     */
+    @Override
+    public void stop() {
+        AppointmentSnapshots.save();
+    }
+
+    /**
+     * Shows the screen displayed while the services are warmed in the background.
+     *
+     * @param progressBar   bar showing the share of startup phases finished
+     * @param phaseLabel    label naming the last phase finished
+     */
+    private static void showStartupScreen(ProgressBar progressBar, Label phaseLabel) {
+        progressBar.setPrefWidth(250);
+        VBox root = new VBox(10, phaseLabel, progressBar);
+        root.setAlignment(Pos.CENTER);
+        primaryStage.setScene(new Scene(root, 400, 400));
+        primaryStage.centerOnScreen();
+        primaryStage.show();
+    }
+
+    /**
+     * Replaces the progress shown on the startup screen with the startup failure and a button that closes the
+     * application. The login screen is not shown, since the services it would use could not be loaded.
+     *
+     * @param progressBar   bar showing the share of startup phases finished
+     * @param phaseLabel    label naming the last phase finished
+     * @param failedPhase   name of the phase that failed, or <em>null</em> if it is not known
+     */
+    private static void showStartupFailure(ProgressBar progressBar, Label phaseLabel, String failedPhase) {
+        VBox root = (VBox) progressBar.getParent();
+        root.getChildren().remove(progressBar);
+        phaseLabel.setText((failedPhase == null) ? ErrorMessageStore.STARTUP_FAILED :
+                "Loading " + failedPhase.toLowerCase() + " failed. " + ErrorMessageStore.STARTUP_FAILED);
+        phaseLabel.setWrapText(true);
+        phaseLabel.setMaxWidth(300);
+        Button closeBtn = new Button("Close");
+        closeBtn.setOnAction(event -> Platform.exit());
+        root.getChildren().add(closeBtn);
     }
 
     /**
@@ -0,0 +1,147 @@
+package com.scheduler.client;
+
+import com.scheduler.business.ServiceBootstrap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms every service singleton on a background executor, so that the JavaFX Application Thread never waits on a
+ * service reading its table. The reference services are first restored from the on-disk snapshot, if there is one, and
+ * the appointments from theirs. The tables of the services still not set up are then read in one concurrent load by
+ * the {@link ServiceBootstrap}. Services with no dependencies are then created concurrently from the rows read; a
+ * service that uses others is created once they are ready: Customer after Country and Division, Appointment after
+ * Contact.
+ * <p>
+ * Progress is reported after each phase, from the worker thread that finished it, and the time taken by each phase is
+ * kept for {@link #report()}. The first phase to fail is kept for {@link #getFailedPhase()}; phases that depend on it
+ * are not run.
+ */
+public class StartupOrchestrator {
+    private static final int PHASE_COUNT = 8;
+    private static final int THREAD_COUNT = 4;
+
+    private final ProgressListener listener;
+    private final ExecutorService executor;
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile long totalMillis = -1;
+    private volatile String failedPhase;
+
+    /**
+     * Listener notified as startup phases finish.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called from a background thread when a phase finishes.
+         *
+         * @param completed number of phases finished so far
+         * @param total number of phases in all
+         * @param phase name of the phase that just finished
+         */
+        void onProgress(int completed, int total, String phase);
+    }
+
+    /**
+     * Constructor: Sets up the background executor. Nothing is warmed until {@link #start()} is called.
+     *
+     * @param listener notified as each phase finishes
+     */
+    public StartupOrchestrator(ProgressListener listener) {
+        this.listener = listener;
+        this.executor = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "startup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts warming the services.
+     *
+     * @return future completed once every service is warmed, or exceptionally if any of them failed
+     */
+    public CompletableFuture<Void> start() {
+        long startedAt = System.nanoTime();
+        ServiceBootstrap bootstrap = new ServiceBootstrap();
+        CompletableFuture<Void> tables = phase("Snapshot", bootstrap::restoreSnapshots)
+                .thenCompose(ignored -> phase("Tables", bootstrap::readTables));
+        CompletableFuture<Void> countries = tables
+                .thenCompose(ignored -> phase("Countries", bootstrap::createCountries));
+        CompletableFuture<Void> divisions = tables
+                .thenCompose(ignored -> phase("Divisions", bootstrap::createDivisions));
+        CompletableFuture<Void> contacts = tables
+                .thenCompose(ignored -> phase("Contacts", bootstrap::createContacts));
+        CompletableFuture<Void> users = tables
+                .thenCompose(ignored -> phase("Users", bootstrap::createUsers));
+        CompletableFuture<Void> customers = CompletableFuture.allOf(countries, divisions)
+                .thenCompose(ignored -> phase("Customers", bootstrap::createCustomers));
+        CompletableFuture<Void> appointments = contacts
+                .thenCompose(ignored -> phase("Appointments", bootstrap::createAppointments));
+
+        return CompletableFuture.allOf(users, customers, appointments)
+                .whenComplete((ignored, e) -> {
+                    totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    executor.shutdown();
+                });
+    }
+
+    /**
+     * Gets the time each finished phase took, in the order the phases finished.
+     * @return map of phase name to milliseconds
+     */
+    public Map<String, Long> getPhaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+
+    /**
+     * Gets the wall-clock time from {@link #start()} until every phase finished.
+     * @return total milliseconds, or -1 if startup has not finished
+     */
+    public long getTotalMillis() { return totalMillis; }
+
+    /**
+     * Gets the name of the first phase that failed.
+     * @return phase name, or <em>null</em> if no phase has failed
+     */
+    public String getFailedPhase() { return failedPhase; }
+
+    /**
+     * Describes the measured timings on one line.
+     * @return startup total followed by each phase's time
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Startup finished in " + totalMillis + " ms (");
+        getPhaseMillis().forEach((phase, millis) -> report.append(phase).append(' ').append(millis).append(" ms, "));
+        if (report.charAt(report.length() - 1) == ' ')
+            report.setLength(report.length() - 2);
+        return report.append(')').toString();
+    }
+
+    private CompletableFuture<Void> phase(String name, Runnable warm) {
+        return CompletableFuture.runAsync(() -> {
+            long phaseStartedAt = System.nanoTime();
+            try {
+                warm.run();
+            } catch (RuntimeException e) {
+                synchronized (phaseMillis) {
+                    if (failedPhase == null)
+                        failedPhase = name;
+                }
+                throw e;
+            }
+            synchronized (phaseMillis) {
+                phaseMillis.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStartedAt));
+            }
+            listener.onProgress(completed.incrementAndGet(), PHASE_COUNT, name);
+        }, executor);
+    }
+}
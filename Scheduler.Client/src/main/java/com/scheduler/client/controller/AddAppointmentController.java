@@ -50,7 +50,7 @@ public class AddAppointmentController extends AppointmentController {
                 handleSubmitBtn(new ActionEvent());
             }
         } catch (AppointmentOverlapException ex) {
-            Navigator.popUpExceptionWarningPrompt(ErrorMessageStore.APPOINTMENT_OVERLAP);
+            Navigator.popUpExceptionWarningPrompt(ex.getMessage());
             if (ExceptionWarningPromptController.proceedConfirmed) {
                 overlapExceptionOverride = true;
                 handleSubmitBtn(new ActionEvent());
@@ -136,7 +136,8 @@ public abstract class AppointmentController implements Initializable {
      *
      * @throws RequiredFieldException if required fields are not completed
      * @throws AppointmentNotBusinessHoursException if appointment does not fall within ETC business hours
-     * @throws AppointmentOverlapException if appointment time overlaps with appointment of the same customer
+     * @throws AppointmentOverlapException if appointment time overlaps with another appointment of the same customer
+     * or contact
      */
     protected void setupSubmit() throws RequiredFieldException, AppointmentNotBusinessHoursException,
             AppointmentOverlapException, EndBeforeStartException {
@@ -163,10 +164,19 @@ public abstract class AppointmentController implements Initializable {
             flagDateTimeFields();
             throw new AppointmentNotBusinessHoursException(ErrorMessageStore.APPOINTMENT_HOURS_INVALID);
         }
-        if (!overlapExceptionOverride &&
-                !appointmentService.checkForNoOverlapByCustomer(startZDT, endZDT, customerId)) {
-            flagDateTimeFields();
-            throw new AppointmentOverlapException(ErrorMessageStore.APPOINTMENT_OVERLAP);
+        if (!overlapExceptionOverride) {
+            int editedId = getEditedAppointmentId();
+            boolean customerOverlaps = !appointmentService.checkForNoOverlapByCustomer(startZDT, endZDT, customerId,
+                    editedId);
+            boolean contactOverlaps = !appointmentService.checkForNoOverlapByContact(startZDT, endZDT, contactId,
+                    editedId);
+            if (customerOverlaps || contactOverlaps) {
+                flagDateTimeFields();
+                if (customerOverlaps && contactOverlaps)
+                    throw new AppointmentOverlapException(ErrorMessageStore.APPOINTMENT_CUSTOMER_AND_CONTACT_OVERLAP);
+                throw new AppointmentOverlapException(customerOverlaps ? ErrorMessageStore.APPOINTMENT_OVERLAP :
+                        ErrorMessageStore.APPOINTMENT_CONTACT_OVERLAP);
+            }
         }
 
         // Set up UTC Timestamp members
@@ -179,6 +189,16 @@ public abstract class AppointmentController implements Initializable {
 
     protected abstract void handleSubmitBtn(ActionEvent event);
 
+    /**
+     * Gets the ID of the appointment the form is editing, which is left out when checking the submitted times for
+     * overlaps, so that an appointment does not conflict with itself.
+     *
+     * @return ID of the appointment being edited, or -1 if the form is for a new appointment
+     */
+    protected int getEditedAppointmentId() {
+        return -1;
+    }
+
     /**
      * Resets all field flags to not be visible.
      */
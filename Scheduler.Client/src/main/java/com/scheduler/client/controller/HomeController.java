@@ -86,6 +86,7 @@ public class HomeController implements Initializable {
     static boolean notifiedOfUpcoming = false;
     static ObservableList<Customer> customers;
     static ObservableList<Appointment> appointments;
+    private static HomeController current;
     private AppointmentService appointmentService;
     private CustomerService customerService;
 
@@ -102,6 +103,7 @@ public class HomeController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Initialize class members
+        current = this;
         customerService = CustomerService.getInstance();
         CountryService countryService = CountryService.getInstance();
         appointmentService = AppointmentService.getInstance();
@@ -186,15 +188,14 @@ public class HomeController implements Initializable {
     }
 
     /**
-     * Pops up a prompt for any upcoming appointments, within the next 15 minutes. Only triggers on login.
+     * Pops up a prompt for any upcoming appointments, within the next 15 minutes. Only triggers on login. The window is
+     * read from the start time index in {@link AppointmentService}, from a single reading of the clock.
      */
     private void popUpAny15MinuteUpcomingAppointments() {
-        appointments.forEach(a -> {
-            if (a.getStartDefault().isAfter(ZonedDateTime.now()) &&
-                    a.getStartDefault().isBefore(ZonedDateTime.now().plusMinutes(15))) {
-                UpcomingAppointmentPromptController.notificationAppointment = a;
-                Navigator.popUpUpcomingAppointmentPrompt();
-            }
+        ZonedDateTime now = ZonedDateTime.now();
+        appointmentService.getAppointmentsStartingBetween(now, now.plusMinutes(15)).forEach(a -> {
+            UpcomingAppointmentPromptController.notificationAppointment = a;
+            Navigator.popUpUpcomingAppointmentPrompt();
         });
         notifiedOfUpcoming = true;
     }
@@ -218,10 +219,9 @@ public class HomeController implements Initializable {
     }
 
     /**
-     * Handler for the Delete Button on the "Customers" application tab. Deletes any of the customer's
-     * appointments before deleting the customer, due to foreign key constraints. Warns before deletion.
-     * If any of the associated appointments were not successfully deleted, the customer deletion is
-     * aborted.
+     * Handler for the Delete Button on the "Customers" application tab. Deletes the customer's
+     * appointments and then the customer, due to foreign key constraints, in one transaction. Warns
+     * before deletion. If any of the deletions fail, none of them are kept and a warning is shown.
      *
      * @param event ActionEvent that triggered method
      */
@@ -231,18 +231,13 @@ public class HomeController implements Initializable {
             try {
                 int id = custTable.getSelectionModel().getSelectedItem().getId();
 
-                Pair<List<Appointment>, List<Appointment>> allDeletedAndNotDeleted
-                        = appointmentService.deleteAppointmentsByCustomerId(id);
-
-                List<Appointment> allDeleted = allDeletedAndNotDeleted.getValue0();
-                List<Appointment> allNotDeleted = allDeletedAndNotDeleted.getValue1();
-
-                allDeleted.forEach(a -> appointments.remove(a));
-                if (!allNotDeleted.isEmpty())
+                Pair<Customer, List<Appointment>> deletedAndEvicted
+                        = customerService.deleteCustomerWithAppointments(id);
+                if (deletedAndEvicted == null)
                     throw new AppointmentDeletionFailedException(ErrorMessageStore.APPOINTMENTS_NOT_DELETED);
 
-                Customer toDelete = customerService.deleteCustomer(id);
-                customers.remove(toDelete);
+                appointments.removeIf(a -> a.getCustomerId() == id);
+                customers.removeIf(c -> c.getId() == id);
             } catch (AppointmentDeletionFailedException ex) {
                 custWarningLabel.setVisible(true);
                 custWarningLabel.setText(ex.getMessage());
@@ -254,8 +249,8 @@ public class HomeController implements Initializable {
         Navigator.popUpAppointmentDeletePrompt();
         if (DeleteAppointmentPromptController.deleteConfirmed) {
             int id = appTable.getSelectionModel().getSelectedItem().getId();
-            Appointment toDelete = appointmentService.deleteAppointment(id);
-            appointments.remove(toDelete);
+            if (appointmentService.deleteAppointment(id) != null)
+                appointments.removeIf(a -> a.getId() == id);
         }
     }
 
@@ -297,6 +292,39 @@ public class HomeController implements Initializable {
         }
     }
 
+    /**
+     * Reloads the Home screen's tables from the services' lists, after they were brought up to date with changes made
+     * from other workstations. The country and time span filters shown are applied again, and the selected rows are
+     * kept selected by ID. Does nothing if the Home screen has not been shown yet.
+     *
+     * @see com.scheduler.business.CacheRefresher
+     */
+    public static void reloadFromServices() {
+        if (current != null)
+            current.reload();
+    }
+
+    private void reload() {
+        Customer selectedCustomer = custTable.getSelectionModel().getSelectedItem();
+        Appointment selectedAppointment = appTable.getSelectionModel().getSelectedItem();
+
+        customers.setAll(customerService.getAllCustomers());
+        appointments.setAll(appointmentService.getAllAppointments());
+        handleCustomerCountryCB(new ActionEvent());
+        showSelectedTimeSpan();
+
+        if (selectedCustomer != null)
+            custTable.getItems().stream()
+                    .filter(c -> c.getId() == selectedCustomer.getId())
+                    .findFirst()
+                    .ifPresent(c -> custTable.getSelectionModel().select(c));
+        if (selectedAppointment != null)
+            appTable.getItems().stream()
+                    .filter(a -> a.getId() == selectedAppointment.getId())
+                    .findFirst()
+                    .ifPresent(a -> appTable.getSelectionModel().select(a));
+    }
+
     /**
      * Opens selected tab. Tab is remembered, i.e. when navigating to a different screen, the last tab opened is opened
      * again when returning to the Home Screen.
@@ -345,23 +373,32 @@ public class HomeController implements Initializable {
     private final ChangeListener<Toggle> appRadioListener = new ChangeListener<>() {
         @Override
         public void changed(ObservableValue<? extends Toggle> observable, Toggle oldValue, Toggle newValue) {
-            if (appRadio.getSelectedToggle() != null) {
-                RadioButton selected = (RadioButton) appRadio.getSelectedToggle();
-                ObservableList<Appointment> filteredAppointments;
-                switch (selected.getText()) {
-                    case "Month" -> {
-                        filteredAppointments = FXCollections.observableArrayList(
-                                appointmentService.getAppointmentsByTimeSpan(AppointmentTimeSpan.MONTH));
-                        appTable.setItems(filteredAppointments);
-                    }
-                    case "Week" -> {
-                        filteredAppointments = FXCollections.observableArrayList(
-                                appointmentService.getAppointmentsByTimeSpan(AppointmentTimeSpan.WEEK));
-                        appTable.setItems(filteredAppointments);
-                    }
-                    default -> appTable.setItems(appointments);
+            showSelectedTimeSpan();
+        }
+    };
+
+    /**
+     * Filters the {@link Appointment} table by the {@link AppointmentTimeSpan} of the selected radio button, or shows
+     * all appointments.
+     */
+    private void showSelectedTimeSpan() {
+        if (appRadio.getSelectedToggle() != null) {
+            RadioButton selected = (RadioButton) appRadio.getSelectedToggle();
+            ObservableList<Appointment> filteredAppointments;
+            ZonedDateTime now = ZonedDateTime.now();
+            switch (selected.getText()) {
+                case "Month" -> {
+                    filteredAppointments = FXCollections.observableArrayList(
+                            appointmentService.getAppointmentsByTimeSpan(AppointmentTimeSpan.MONTH, now));
+                    appTable.setItems(filteredAppointments);
+                }
+                case "Week" -> {
+                    filteredAppointments = FXCollections.observableArrayList(
+                            appointmentService.getAppointmentsByTimeSpan(AppointmentTimeSpan.WEEK, now));
+                    appTable.setItems(filteredAppointments);
                 }
+                default -> appTable.setItems(appointments);
             }
         }
-    };
+    }
 }
@@ -87,6 +87,16 @@ public class ModifyAppointmentController extends AppointmentController {
         updatedByField.setText(appointmentToModify.getLastUpdatedBy());
     }
 
+    /**
+     * Gets the ID of {@link #appointmentToModify}, so that it is not checked for overlaps against its own times.
+     *
+     * @return ID of the appointment being modified
+     */
+    @Override
+    protected int getEditedAppointmentId() {
+        return appointmentToModify.getId();
+    }
+
     /**
      * Handles submit button being clicked. Runs {@link AppointmentController#setupSubmit()} and attempts
      * the {@link Appointment} update submission then, replaces the result of the attempted submission in
@@ -109,8 +119,7 @@ public class ModifyAppointmentController extends AppointmentController {
             Appointment updated = appointmentService.updateAppointment(formAppointment);
 
             if (!Objects.isNull(updated)) {
-                Appointment defunct = appointmentService.getAppointmentById(updated.getId());
-                HomeController.appointments.remove(defunct);
+                HomeController.appointments.removeIf(a -> a.getId() == updated.getId());
                 HomeController.appointments.add(updated);
             }
             Navigator.goToHome();
@@ -124,7 +133,7 @@ public class ModifyAppointmentController extends AppointmentController {
                 handleSubmitBtn(new ActionEvent());
             }
         } catch (AppointmentOverlapException ex) {
-            Navigator.popUpExceptionWarningPrompt(ErrorMessageStore.APPOINTMENT_OVERLAP);
+            Navigator.popUpExceptionWarningPrompt(ex.getMessage());
             if (ExceptionWarningPromptController.proceedConfirmed) {
                 overlapExceptionOverride = true;
                 handleSubmitBtn(new ActionEvent());
@@ -84,8 +84,7 @@ public class ModifyCustomerController extends CustomerController {
             Customer updated = customerService.updateCustomer(formCustomer);
 
             if (!Objects.isNull(updated)) {
-                Customer defunct = customerService.getCustomerById(updated.getId());
-                HomeController.customers.remove(defunct);
+                HomeController.customers.removeIf(c -> c.getId() == updated.getId());
                 HomeController.customers.add(updated);
             }
             Navigator.goToHome();
@@ -14,7 +14,7 @@ import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTableView;
 
 import java.net.URL;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Set;
@@ -43,7 +43,7 @@ public class MonthTypeReportController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         MonthTypeReportService service = new MonthTypeReportService();
         items = service.getItems();
-        months = new HashSet<>(items.stream()
+        months = new LinkedHashSet<>(items.stream()
                 .map(MonthTypeReportItem::getMonth)
                 .toList());
 
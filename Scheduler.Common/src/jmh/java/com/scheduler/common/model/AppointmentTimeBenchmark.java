@@ -0,0 +1,160 @@
+package com.scheduler.common.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the appointment start and end times held as {@link Timestamp} and {@link ZonedDateTime} objects, as
+ * Appointment held them before, with the epoch milliseconds it holds now. Measures the three things done with them:
+ * converting each row as it is loaded, sorting by start time, and scanning for overlaps with a time range.
+ * <p>
+ * Run with <code>gradle :Scheduler.Common:jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentTimeBenchmark {
+    private static final long HOUR = 3_600_000L;
+
+    @Param({"1000"})
+    private int rows;
+
+    private Timestamp[] starts;
+    private Timestamp[] ends;
+    private ZonedDateTime[] zonedStarts;
+    private ZonedDateTime[] zonedEnds;
+    private Appointment[] appointments;
+    private Timestamp rangeStart;
+    private Timestamp rangeEnd;
+    private ZonedDateTime zonedRangeStart;
+    private ZonedDateTime zonedRangeEnd;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        Random random = new Random(42);
+        long first = Appointment.toEpochMillis(Timestamp.valueOf("2022-03-01 08:00:00"));
+        starts = new Timestamp[rows];
+        ends = new Timestamp[rows];
+        zonedStarts = new ZonedDateTime[rows];
+        zonedEnds = new ZonedDateTime[rows];
+        appointments = new Appointment[rows];
+        for (int i = 0; i < rows; i++) {
+            long start = first + random.nextInt(24 * 90) * HOUR;
+            starts[i] = Appointment.toTimestamp(start);
+            ends[i] = Appointment.toTimestamp(start + HOUR);
+            zonedStarts[i] = toDefaultZone(starts[i]);
+            zonedEnds[i] = toDefaultZone(ends[i]);
+            appointments[i] = new Appointment(i + 1, "Title", "Description", "Location", "Type", starts[i], ends[i],
+                    null, "script", null, "script", 1, 1, 1);
+        }
+        rangeStart = Appointment.toTimestamp(first + 24 * 45 * HOUR);
+        rangeEnd = Appointment.toTimestamp(first + 24 * 52 * HOUR);
+        zonedRangeStart = toDefaultZone(rangeStart);
+        zonedRangeEnd = toDefaultZone(rangeEnd);
+    }
+
+    @Benchmark
+    public ZonedDateTime[] loadZoned() {
+        ZonedDateTime[] zoned = new ZonedDateTime[rows * 2];
+        for (int i = 0; i < rows; i++) {
+            zoned[i * 2] = toDefaultZone(starts[i]);
+            zoned[i * 2 + 1] = toDefaultZone(ends[i]);
+        }
+        return zoned;
+    }
+
+    @Benchmark
+    public long[] loadEpochMillis() {
+        long[] millis = new long[rows * 2];
+        for (int i = 0; i < rows; i++) {
+            millis[i * 2] = Appointment.toEpochMillis(starts[i]);
+            millis[i * 2 + 1] = Appointment.toEpochMillis(ends[i]);
+        }
+        return millis;
+    }
+
+    @Benchmark
+    public Integer[] sortByTimestamp() {
+        Integer[] order = order();
+        Arrays.sort(order, Comparator.comparing((Integer i) -> starts[i]));
+        return order;
+    }
+
+    @Benchmark
+    public Integer[] sortByZoned() {
+        Integer[] order = order();
+        Arrays.sort(order, Comparator.comparing((Integer i) -> zonedStarts[i]));
+        return order;
+    }
+
+    @Benchmark
+    public Appointment[] sortByEpochMillis() {
+        Appointment[] sorted = appointments.clone();
+        Arrays.sort(sorted, Comparator.comparingLong(Appointment::getStartEpochMillis));
+        return sorted;
+    }
+
+    @Benchmark
+    public int overlapsTimestamp() {
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            if (starts[i].before(rangeEnd) && ends[i].after(rangeStart))
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int overlapsZoned() {
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            if (zonedStarts[i].isBefore(zonedRangeEnd) && zonedEnds[i].isAfter(zonedRangeStart))
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int overlapsEpochMillis() {
+        long start = Appointment.toEpochMillis(rangeStart);
+        long end = Appointment.toEpochMillis(rangeEnd);
+        int count = 0;
+        for (Appointment appointment : appointments) {
+            if (appointment.getStartEpochMillis() < end && appointment.getEndEpochMillis() > start)
+                count++;
+        }
+        return count;
+    }
+
+    private Integer[] order() {
+        Integer[] order = new Integer[rows];
+        for (int i = 0; i < rows; i++)
+            order[i] = i;
+        return order;
+    }
+
+    private static ZonedDateTime toDefaultZone(Timestamp utc) {
+        return ZonedDateTime.of(utc.toLocalDateTime(), ZoneId.of("UTC")).withZoneSameInstant(ZoneId.systemDefault());
+    }
+}
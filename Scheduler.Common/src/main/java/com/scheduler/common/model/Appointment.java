@@ -1,6 +1,10 @@
 package com.scheduler.common.model;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 public class Appointment {
@@ -9,8 +13,9 @@ public class Appointment {
     private final String description;
     private final String location;
     private final String type;
-    private final Timestamp start;
-    private final Timestamp end;
+    // Start and end instants as epoch milliseconds; the timestamps and zoned times are derived from these.
+    private final long startEpochMillis;
+    private final long endEpochMillis;
     private final Timestamp createDate;
     private final String createdBy;
     private final Timestamp lastUpdate;
@@ -30,8 +35,27 @@ public class Appointment {
         this.description = description;
         this.location = location;
         this.type = type;
-        this.start = start;
-        this.end = end;
+        this.startEpochMillis = toEpochMillis(start);
+        this.endEpochMillis = toEpochMillis(end);
+        this.createDate = createDate;
+        this.createdBy = createdBy;
+        this.lastUpdate = lastUpdate;
+        this.lastUpdatedBy = lastUpdatedBy;
+        this.customerId = customerId;
+        this.userId = userId;
+        this.contactId = contactId;
+    }
+
+    public Appointment(int id, String title, String description, String location, String type, long startEpochMillis,
+                       long endEpochMillis, Timestamp createDate, String createdBy, Timestamp lastUpdate,
+                       String lastUpdatedBy, int customerId, int userId, int contactId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.location = location;
+        this.type = type;
+        this.startEpochMillis = startEpochMillis;
+        this.endEpochMillis = endEpochMillis;
         this.createDate = createDate;
         this.createdBy = createdBy;
         this.lastUpdate = lastUpdate;
@@ -48,8 +72,8 @@ public class Appointment {
         this.description = description;
         this.location = location;
         this.type = type;
-        this.start = start;
-        this.end = end;
+        this.startEpochMillis = toEpochMillis(start);
+        this.endEpochMillis = toEpochMillis(end);
         this.customerId = customerId;
         this.userId = userId;
         this.contactId = contactId;
@@ -64,8 +88,10 @@ public class Appointment {
     public String getDescription() { return description; }
     public String getLocation() { return location; }
     public String getType() { return type; }
-    public Timestamp getStart() { return start; }
-    public Timestamp getEnd() { return end; }
+    public Timestamp getStart() { return toTimestamp(startEpochMillis); }
+    public Timestamp getEnd() { return toTimestamp(endEpochMillis); }
+    public long getStartEpochMillis() { return startEpochMillis; }
+    public long getEndEpochMillis() { return endEpochMillis; }
     public Timestamp getCreateDate() { return createDate; }
     public String getCreatedBy() { return createdBy; }
     public Timestamp getLastUpdate() { return lastUpdate; }
@@ -73,11 +99,54 @@ public class Appointment {
     public int getCustomerId() { return customerId; }
     public int getUserId() { return userId; }
     public int getContactId() { return contactId; }
-    public ZonedDateTime getStartDefault() { return startDefault; }
-    public ZonedDateTime getEndDefault() { return endDefault; }
     public String getContactName() { return contactName; }
 
-    public void setStartDefault(ZonedDateTime startDefault) { this.startDefault = startDefault; }
-    public void setEndDefault(ZonedDateTime endDefault) { this.endDefault = endDefault; }
     public void setContactName(String contactName) { this.contactName = contactName; }
+
+    /**
+     * Gets the start time in {@link ZoneId#systemDefault()}, derived from {@link #startEpochMillis} the first time it
+     * is asked for and kept from then on.
+     *
+     * @return start time in the system default time zone
+     */
+    public ZonedDateTime getStartDefault() {
+        ZonedDateTime zoned = startDefault;
+        if (zoned == null)
+            startDefault = zoned = Instant.ofEpochMilli(startEpochMillis).atZone(ZoneId.systemDefault());
+        return zoned;
+    }
+
+    /**
+     * Gets the end time in {@link ZoneId#systemDefault()}, derived from {@link #endEpochMillis} the first time it is
+     * asked for and kept from then on.
+     *
+     * @return end time in the system default time zone
+     */
+    public ZonedDateTime getEndDefault() {
+        ZonedDateTime zoned = endDefault;
+        if (zoned == null)
+            endDefault = zoned = Instant.ofEpochMilli(endEpochMillis).atZone(ZoneId.systemDefault());
+        return zoned;
+    }
+
+    /**
+     * Converts a timestamp holding a UTC date and time, as stored in the database, to epoch milliseconds.
+     *
+     * @param utc timestamp holding a UTC date and time
+     * @return epoch milliseconds of the same instant
+     */
+    public static long toEpochMillis(Timestamp utc) {
+        return utc.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Converts epoch milliseconds to a timestamp holding the UTC date and time, as stored in the database.
+     *
+     * @param epochMillis epoch milliseconds of an instant
+     * @return new timestamp holding the UTC date and time of the instant
+     */
+    public static Timestamp toTimestamp(long epochMillis) {
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC));
+    }
 }
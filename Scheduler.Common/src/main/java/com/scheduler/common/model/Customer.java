@@ -14,6 +14,7 @@ public class Customer {
     private final String lastUpdatedBy;
     private final int divisionId;
     private String extendedAddress;
+    private Division division;
 
     public Customer(int id, String name, String address, String postalCode, String phone, Timestamp createDate,
                     String createdBy, Timestamp lastUpdate, String lastUpdatedBy, int divisionId) {
@@ -53,8 +54,13 @@ public class Customer {
     public String getLastUpdatedBy() { return lastUpdatedBy; }
     public int getDivisionId() { return divisionId; }
     public String getExtendedAddress() { return extendedAddress; }
+    public Division getDivision() { return division; }
 
     public void setExtendedAddress(String extendedAddress) {
         this.extendedAddress = extendedAddress;
     }
+
+    public void setDivision(Division division) {
+        this.division = (division != null && division.getId() == divisionId) ? division : null;
+    }
 }
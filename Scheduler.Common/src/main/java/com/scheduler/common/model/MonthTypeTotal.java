@@ -0,0 +1,20 @@
+package com.scheduler.common.model;
+
+public class MonthTypeTotal {
+    private final int year;
+    private final int month;
+    private final String type;
+    private final int total;
+
+    public MonthTypeTotal(int year, int month, String type, int total) {
+        this.year = year;
+        this.month = month;
+        this.type = type;
+        this.total = total;
+    }
+
+    public int getYear() { return year; }
+    public int getMonth() { return month; }
+    public String getType() { return type; }
+    public int getTotal() { return total; }
+}
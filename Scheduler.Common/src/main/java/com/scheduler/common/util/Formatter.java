@@ -1,6 +1,7 @@
 package com.scheduler.common.util;
 
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -33,6 +34,11 @@ public class Formatter {
         return dtFormatter.format(dateTime);
     }
 
+    public static String toMonthYearName(YearMonth yearMonth) {
+        DateTimeFormatter dtFormatter = DateTimeFormatter.ofPattern("MMMM yyyy");
+        return dtFormatter.format(yearMonth);
+    }
+
     public static String toDisplay(ZonedDateTime dateTime) {
         DateTimeFormatter today = DateTimeFormatter.ofPattern("'Today' - h:mm a");
         DateTimeFormatter withinWeek = DateTimeFormatter.ofPattern("EEEE - h:mm a");